@@ -0,0 +1,155 @@
+package diarsid.desktop.ui.components.sidebar.api;
+
+import java.util.List;
+import java.util.UUID;
+
+import diarsid.desktop.ui.components.sidepane.api.Sidepane;
+import diarsid.support.objects.CommonEnum;
+
+import static java.util.Objects.requireNonNull;
+
+/*
+ * Incremental change of sidebar items, applied with Sidepane.Content.apply(List) as a part of batch.
+ * Existing items are referred by Item.uuid(). Index of insert and move is the index the item will have
+ * after the operation. Operations that refer to absent uuid do nothing, as well as insert and move to index
+ * out of range and insert or replace with item which uuid is already present elsewhere.
+ *
+ * sidepane.content().apply(List.of(
+ *         ItemsDelta.remove(oldItem.uuid()),
+ *         ItemsDelta.insert(0, newItem)));
+ */
+public final class ItemsDelta implements Sidepane.Content.Delta<List<Item>> {
+
+    public enum Type implements CommonEnum<Type> {
+        INSERT,
+        REMOVE,
+        MOVE,
+        REPLACE
+    }
+
+    public static ItemsDelta insert(int index, Item item) {
+        return new ItemsDelta(Type.INSERT, requireNonNull(item).uuid(), index, item);
+    }
+
+    public static ItemsDelta remove(UUID uuid) {
+        return new ItemsDelta(Type.REMOVE, requireNonNull(uuid), -1, null);
+    }
+
+    public static ItemsDelta move(UUID uuid, int index) {
+        return new ItemsDelta(Type.MOVE, requireNonNull(uuid), index, null);
+    }
+
+    public static ItemsDelta replace(UUID uuid, Item item) {
+        return new ItemsDelta(Type.REPLACE, requireNonNull(uuid), -1, requireNonNull(item));
+    }
+
+    private final Type type;
+    private final UUID uuid;
+    private final int index;
+    private final Item item;
+
+    private ItemsDelta(Type type, UUID uuid, int index, Item item) {
+        this.type = type;
+        this.uuid = uuid;
+        this.index = index;
+        this.item = item;
+    }
+
+    public Type type() {
+        return this.type;
+    }
+
+    /*
+     * uuid of item that is inserted, removed, moved or replaced.
+     */
+    public UUID uuid() {
+        return this.uuid;
+    }
+
+    /*
+     * Index for INSERT and MOVE, -1 otherwise.
+     */
+    public int index() {
+        return this.index;
+    }
+
+    /*
+     * Item for INSERT and REPLACE, null otherwise.
+     */
+    public Item item() {
+        return this.item;
+    }
+
+    /*
+     * Is this delta changing given items, or it does nothing to them because of absent uuid, index out of
+     * range or duplicated uuid.
+     */
+    public boolean isApplicableTo(List<Item> items) {
+        int existingAt;
+        switch ( this.type ) {
+            case INSERT:
+                return 0 <= this.index && this.index <= items.size()
+                        && indexOf(items, this.uuid) < 0;
+            case REMOVE:
+                return indexOf(items, this.uuid) > -1;
+            case MOVE:
+                return 0 <= this.index && this.index < items.size()
+                        && indexOf(items, this.uuid) > -1;
+            case REPLACE:
+                existingAt = indexOf(items, this.uuid);
+                if ( existingAt < 0 ) {
+                    return false;
+                }
+                int replacingAt = indexOf(items, this.item.uuid());
+                return replacingAt < 0 || replacingAt == existingAt;
+            default:
+                throw this.type.unsupported();
+        }
+    }
+
+    @Override
+    public void accept(List<Item> items) {
+        if ( ! this.isApplicableTo(items) ) {
+            return;
+        }
+
+        int existingAt;
+        switch ( this.type ) {
+            case INSERT:
+                items.add(this.index, this.item);
+                break;
+            case REMOVE:
+                existingAt = indexOf(items, this.uuid);
+                items.remove(existingAt);
+                break;
+            case MOVE:
+                existingAt = indexOf(items, this.uuid);
+                items.add(this.index, items.remove(existingAt));
+                break;
+            case REPLACE:
+                existingAt = indexOf(items, this.uuid);
+                items.set(existingAt, this.item);
+                break;
+            default:
+                throw this.type.unsupported();
+        }
+    }
+
+    private static int indexOf(List<Item> items, UUID uuid) {
+        for ( int i = 0; i < items.size(); i++ ) {
+            if ( items.get(i).uuid().equals(uuid) ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "ItemsDelta{" +
+                "type=" + type +
+                ", uuid=" + uuid +
+                ", index=" + index +
+                '}';
+    }
+}
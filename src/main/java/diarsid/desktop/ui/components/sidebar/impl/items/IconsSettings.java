@@ -2,6 +2,12 @@ package diarsid.desktop.ui.components.sidebar.impl.items;
 
 import java.util.Optional;
 
+import javafx.scene.control.Tooltip;
+
+import diarsid.support.objects.CommonEnum;
+
+import static java.util.Objects.isNull;
+
 public class IconsSettings {
 
     public static class BrightnessChange {
@@ -15,16 +21,47 @@ public class IconsSettings {
         }
     }
 
+    /*
+     * PER_ITEM - every item creates its own Tooltip when it is hovered for the first time.
+     * SHARED - items with these settings share one Tooltip, it is attached to the hovered item only.
+     */
+    public enum Tooltips implements CommonEnum<Tooltips> {
+        PER_ITEM,
+        SHARED
+    }
+
     public final Optional<BrightnessChange> brightnessChange;
     public final double size;
+    public final Tooltips tooltips;
+    private Tooltip sharedTooltip;
 
     public IconsSettings(double size) {
+        this(size, Tooltips.PER_ITEM);
+    }
+
+    public IconsSettings(double size, Tooltips tooltips) {
         this.brightnessChange = Optional.empty();
         this.size = size;
+        this.tooltips = tooltips;
     }
 
     public IconsSettings(BrightnessChange brightnessChange, double size) {
+        this(brightnessChange, size, Tooltips.PER_ITEM);
+    }
+
+    public IconsSettings(BrightnessChange brightnessChange, double size, Tooltips tooltips) {
         this.brightnessChange = Optional.of(brightnessChange);
         this.size = size;
+        this.tooltips = tooltips;
+    }
+
+    /*
+     * Must be invoked on JavaFX thread.
+     */
+    Tooltip sharedTooltip() {
+        if ( isNull(this.sharedTooltip) ) {
+            this.sharedTooltip = new Tooltip();
+        }
+        return this.sharedTooltip;
     }
 }
@@ -1,5 +1,6 @@
 package diarsid.desktop.ui.components.sidebar.impl.items;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
@@ -18,6 +19,7 @@ import diarsid.support.objects.StatefulClearable;
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
 import static java.time.LocalDateTime.now;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.concurrent.CompletableFuture.runAsync;
 
@@ -30,9 +32,7 @@ class ItemHolder implements StatefulClearable {
 
     private static final Logger log = LoggerFactory.getLogger(ItemHolder.class);
 
-    private final int i;
     private final Item item;
-    private final SidebarItemSubMenu subMenu;
 
     private final ChangeListener<? super Number> itemNodeSizeChangeListener;
     private final Runnable hideContextMenuWhenItemInvoked;
@@ -44,6 +44,9 @@ class ItemHolder implements StatefulClearable {
 
     private final AtomicReference<EventType<MouseEvent>> lastMouseEvent;
 
+    private int i;
+    private SidebarItemSubMenu subMenu;
+
     ItemHolder(
             int i,
             Item item,
@@ -57,7 +60,7 @@ class ItemHolder implements StatefulClearable {
         this.hideContextMenuWhenItemInvoked = hideContextMenuWhenItemInvoked;
         this.itemContextMenuInvoked = itemContextMenuInvoked;
 
-        this.subMenu = new SidebarItemSubMenu(item);
+        this.subMenu = null;
 
         this.lastMouseEvent = new AtomicReference<>();
 
@@ -67,7 +70,7 @@ class ItemHolder implements StatefulClearable {
                 this.lastMouseEvent.set(MOUSE_PRESSED);
             }
             else if ( event.isSecondaryButtonDown() ) {
-                this.itemContextMenuInvoked.accept(event, this.subMenu);
+                this.itemContextMenuInvoked.accept(event, this.subMenu());
                 event.consume();
             }
         };
@@ -112,6 +115,41 @@ class ItemHolder implements StatefulClearable {
         itemNode.addEventHandler(MOUSE_RELEASED, this.onMouseReleased);
     }
 
+    /*
+     * Submenu is created on first context menu invocation, as most of the items never have it invoked.
+     */
+    private SidebarItemSubMenu subMenu() {
+        if ( isNull(this.subMenu) ) {
+            this.subMenu = new SidebarItemSubMenu(this.item);
+        }
+        return this.subMenu;
+    }
+
+    Item item() {
+        return this.item;
+    }
+
+    /*
+     * Moves index-based style class of item node to the new index, other style classes, listeners and
+     * handlers are left as they are.
+     */
+    void index(int newI) {
+        if ( this.i == newI ) {
+            return;
+        }
+
+        List<String> styleClasses = this.item.node().getStyleClass();
+        int indexStyleClassAt = styleClasses.indexOf("sidepane-item-" + this.i);
+        if ( indexStyleClassAt > -1 ) {
+            styleClasses.set(indexStyleClassAt, "sidepane-item-" + newI);
+        }
+        else {
+            styleClasses.add("sidepane-item-" + newI);
+        }
+
+        this.i = newI;
+    }
+
     @Override
     public void clear() {
         Node itemNode = this.item.node();
@@ -0,0 +1,63 @@
+package diarsid.desktop.ui.components.sidebar.impl.items;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+
+/*
+ * Process-wide pipeline that loads item icons in parallel on a bounded pool of daemon threads, so creation
+ * of items does not wait for icons. Loaded image is passed to its consumer on JavaFX thread. Failed or empty
+ * loading is logged and reported to its failure callback on JavaFX thread.
+ */
+class ItemIconsLoading {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemIconsLoading.class);
+
+    private static final int THREADS = max(2, min(4, Runtime.getRuntime().availableProcessors()));
+    private static final AtomicInteger THREADS_COUNTER = new AtomicInteger(0);
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            THREADS,
+            (runnable) -> {
+                Thread thread = new Thread(
+                        runnable,
+                        ItemIconsLoading.class.getSimpleName() + "." + THREADS_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private ItemIconsLoading() {}
+
+    static void load(String itemName, Supplier<Image> loading, Consumer<Image> onLoaded, Runnable onFailed) {
+        POOL.execute(() -> {
+            Image image;
+            try {
+                image = loading.get();
+            }
+            catch (Throwable t) {
+                log.error(format("[ITEM ICON] %s - cannot load icon:", itemName), t);
+                Platform.runLater(onFailed);
+                return;
+            }
+
+            if ( isNull(image) || image.isError() ) {
+                log.warn(format("[ITEM ICON] %s - icon is not loaded", itemName));
+                Platform.runLater(onFailed);
+                return;
+            }
+
+            Platform.runLater(() -> onLoaded.accept(image));
+        });
+    }
+}
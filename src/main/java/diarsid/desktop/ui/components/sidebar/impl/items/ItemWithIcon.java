@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.UUID;
 import java.util.function.Supplier;
 
+import javafx.css.PseudoClass;
 import javafx.scene.Node;
 import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.Label;
@@ -20,13 +21,19 @@ import diarsid.support.objects.references.Possible;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
+import static javafx.css.PseudoClass.getPseudoClass;
 import static javafx.scene.input.MouseEvent.MOUSE_PRESSED;
 import static javafx.scene.input.MouseEvent.MOUSE_RELEASED;
+import static javafx.scene.layout.Region.USE_COMPUTED_SIZE;
 
+import static diarsid.desktop.ui.components.sidebar.impl.items.IconsSettings.Tooltips.SHARED;
 import static diarsid.support.objects.references.References.simplePossibleButEmpty;
 
 public class ItemWithIcon implements Item {
 
+    private static final PseudoClass CSS_ICON_LOADING = getPseudoClass("loading");
+    private static final PseudoClass CSS_ICON_FAILED = getPseudoClass("failed");
+
     private final UUID uuid;
     private final String name;
     private final Supplier<String> action;
@@ -37,6 +44,7 @@ public class ItemWithIcon implements Item {
     private final Possible<Effect> cssEffect;
     private boolean isHovered;
     private final Label iconLabel;
+    private final IconsSettings iconsSettings;
     public final transient List<Process> process;
 
     public ItemWithIcon(
@@ -67,7 +75,11 @@ public class ItemWithIcon implements Item {
         this.iconLabel = new Label();
         this.iconLabel.setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
         this.iconLabel.setGraphic(this.icon);
-        this.iconLabel.setTooltip(new Tooltip(this.name));
+        if ( isNull(image) ) {
+            this.iconLabel.setMinSize(iconSize, iconSize);
+            this.iconLabel.pseudoClassStateChanged(CSS_ICON_LOADING, true);
+        }
+        this.iconsSettings = iconsSettings;
 
         this.cssEffect = simplePossibleButEmpty();
         this.isHovered = false;
@@ -75,9 +87,11 @@ public class ItemWithIcon implements Item {
         this.iconLabel.hoverProperty().addListener(((observable, oldValue, newValue) -> {
             this.getInitialEffectAtFirstRun();
             if ( (! oldValue) && newValue ) {
+                this.attachTooltip();
                 this.icon.setEffect(brighter);
             }
             else {
+                this.detachSharedTooltip();
                 this.icon.setEffect(this.cssEffect.or(null));
             }
         }));
@@ -112,6 +126,46 @@ public class ItemWithIcon implements Item {
         }
     }
 
+    /*
+     * Item created with null image is a placeholder of icon size until image is given. Must be invoked
+     * on JavaFX thread.
+     */
+    protected void icon(Image image) {
+        this.icon.setImage(image);
+        this.iconLabel.setMinSize(USE_COMPUTED_SIZE, USE_COMPUTED_SIZE);
+        this.iconLabel.pseudoClassStateChanged(CSS_ICON_LOADING, false);
+    }
+
+    /*
+     * Placeholder of icon that cannot be loaded stops to reserve icon size and is marked as failed, so it can
+     * be styled with a fallback. Must be invoked on JavaFX thread.
+     */
+    protected void iconFailed() {
+        this.iconLabel.setMinSize(USE_COMPUTED_SIZE, USE_COMPUTED_SIZE);
+        this.iconLabel.pseudoClassStateChanged(CSS_ICON_LOADING, false);
+        this.iconLabel.pseudoClassStateChanged(CSS_ICON_FAILED, true);
+    }
+
+    /*
+     * Tooltip is created only when item is hovered, as most of the items are never hovered.
+     */
+    private void attachTooltip() {
+        if ( this.iconsSettings.tooltips.is(SHARED) ) {
+            Tooltip sharedTooltip = this.iconsSettings.sharedTooltip();
+            sharedTooltip.setText(this.name);
+            this.iconLabel.setTooltip(sharedTooltip);
+        }
+        else if ( isNull(this.iconLabel.getTooltip()) ) {
+            this.iconLabel.setTooltip(new Tooltip(this.name));
+        }
+    }
+
+    private void detachSharedTooltip() {
+        if ( this.iconsSettings.tooltips.is(SHARED) ) {
+            this.iconLabel.setTooltip(null);
+        }
+    }
+
     @Override
     public Node node() {
         return this.iconLabel;
@@ -1,6 +1,7 @@
 package diarsid.desktop.ui.components.sidebar.impl.items;
 
 import java.io.File;
+import java.util.function.Supplier;
 
 import javafx.scene.image.Image;
 
@@ -11,53 +12,58 @@ import diarsid.support.javafx.images.FilesNativeIconImageExtractor;
 
 import static java.util.UUID.randomUUID;
 
+/*
+ * Item is created at once with icon placeholder, icon itself is loaded by ItemIconsLoading and is set
+ * when it is ready.
+ *
+ * FilesNativeIconImageExtractor is not known to be thread-safe, so each loading thread uses its own one.
+ */
 public class ItemWithIconAndFile extends ItemWithIcon {
 
     private static final FileInvoker FILE_INVOKER = new FileInvoker();
-    private static final FilesNativeIconImageExtractor IMAGE_EXTRACTOR = new FilesNativeIconImageExtractor(Extensions.DEFAULT.get());
+    private static final ThreadLocal<FilesNativeIconImageExtractor> IMAGE_EXTRACTOR = ThreadLocal.withInitial(
+            () -> new FilesNativeIconImageExtractor(Extensions.DEFAULT.get()));
 
     public ItemWithIconAndFile(String name, String path, IconsSettings iconsSettings) {
-        super(
-                randomUUID(),
+        super(randomUUID(), name, invocationOf(path), null, iconsSettings);
+
+        ItemIconsLoading.load(
                 name,
                 () -> {
-                    try {
-                        FileInvoker.Invocation invocation = FILE_INVOKER.invoke(path);
-                        if ( invocation.fail ) {
-                            return invocation + " " + path;
-                        }
-                        return null;
-                    }
-                    catch (InvokeException e) {
-                        e.printStackTrace();
-                        return e.getMessage();
-                    }
+                    return IMAGE_EXTRACTOR.get().getFrom(
+                            new File(path),
+                            FilesNativeIconImageExtractor.PathCache.USE,
+                            FilesNativeIconImageExtractor.ExtensionCache.NO_USE);
                 },
-                IMAGE_EXTRACTOR.getFrom(
-                        new File(path),
-                        FilesNativeIconImageExtractor.PathCache.USE,
-                        FilesNativeIconImageExtractor.ExtensionCache.NO_USE),
-                iconsSettings);
+                this::icon,
+                this::iconFailed);
     }
 
     public ItemWithIconAndFile(String name, String path, String imageFile, IconsSettings iconsSettings) {
-        super(
-                randomUUID(),
+        super(randomUUID(), name, invocationOf(path), null, iconsSettings);
+
+        ItemIconsLoading.load(
                 name,
                 () -> {
-                    try {
-                        FileInvoker.Invocation invocation = FILE_INVOKER.invoke(path);
-                        if ( invocation.fail ) {
-                            return invocation + " " + path;
-                        }
-                        return null;
-                    }
-                    catch (InvokeException e) {
-                        e.printStackTrace();
-                        return e.getMessage();
-                    }
+                    return new Image("file:" + imageFile, false);
                 },
-                new Image("file:" + imageFile, false),
-                iconsSettings);
+                this::icon,
+                this::iconFailed);
+    }
+
+    private static Supplier<String> invocationOf(String path) {
+        return () -> {
+            try {
+                FileInvoker.Invocation invocation = FILE_INVOKER.invoke(path);
+                if ( invocation.fail ) {
+                    return invocation + " " + path;
+                }
+                return null;
+            }
+            catch (InvokeException e) {
+                e.printStackTrace();
+                return e.getMessage();
+            }
+        };
     }
 }
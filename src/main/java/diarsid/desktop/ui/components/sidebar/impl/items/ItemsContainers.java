@@ -0,0 +1,78 @@
+package diarsid.desktop.ui.components.sidebar.impl.items;
+
+import javafx.css.PseudoClass;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.event.EventType;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+
+import diarsid.desktop.ui.components.sidebar.api.Items;
+import diarsid.support.javafx.geometry.Screen;
+
+import static javafx.css.PseudoClass.getPseudoClass;
+
+import static diarsid.desktop.ui.components.sidebar.api.Items.Alignment.PARALLEL_TO_SIDE;
+import static diarsid.desktop.ui.geometry.Rectangle.Side.Orientation.HORIZONTAL;
+import static diarsid.desktop.ui.geometry.Rectangle.Side.Orientation.VERTICAL;
+
+/*
+ * Horizontal and vertical containers of item nodes shared by items views. Only one of them is used as
+ * content at a time, depending on the side orientation and items alignment.
+ */
+class ItemsContainers {
+
+    private static final PseudoClass CSS_ITEMS_VERTICAL = getPseudoClass(VERTICAL.name().toLowerCase());
+    private static final PseudoClass CSS_ITEMS_HORIZONTAL = getPseudoClass(HORIZONTAL.name().toLowerCase());
+
+    private final HBox horizontal;
+    private final VBox vertical;
+
+    ItemsContainers() {
+        this.horizontal = new HBox();
+        this.horizontal.getStyleClass().add("sidepane-items");
+        this.horizontal.pseudoClassStateChanged(CSS_ITEMS_VERTICAL, false);
+        this.horizontal.pseudoClassStateChanged(CSS_ITEMS_HORIZONTAL, true);
+
+        this.vertical = new VBox();
+        this.vertical.getStyleClass().add("sidepane-items");
+        this.vertical.pseudoClassStateChanged(CSS_ITEMS_VERTICAL, true);
+        this.vertical.pseudoClassStateChanged(CSS_ITEMS_HORIZONTAL, false);
+    }
+
+    Pane containerFor(Screen.Side side, Items.Alignment itemsAlignment) {
+        switch ( side.orientation ) {
+            case VERTICAL:
+                if ( itemsAlignment.is(PARALLEL_TO_SIDE) ) {
+                    return this.vertical;
+                }
+                else {
+                    return this.horizontal;
+                }
+            case HORIZONTAL:
+                if ( itemsAlignment.is(PARALLEL_TO_SIDE) ) {
+                    return this.horizontal;
+                }
+                else {
+                    return this.vertical;
+                }
+            default:
+                throw side.orientation.unsupported();
+        }
+    }
+
+    boolean isVertical(Pane container) {
+        return container == this.vertical;
+    }
+
+    <E extends Event> void addEventHandler(EventType<E> eventType, EventHandler<? super E> eventHandler) {
+        this.horizontal.addEventHandler(eventType, eventHandler);
+        this.vertical.addEventHandler(eventType, eventHandler);
+    }
+
+    void pseudoClassStateChanged(PseudoClass pseudoClass, boolean active) {
+        this.horizontal.pseudoClassStateChanged(pseudoClass, active);
+        this.vertical.pseudoClassStateChanged(pseudoClass, active);
+    }
+}
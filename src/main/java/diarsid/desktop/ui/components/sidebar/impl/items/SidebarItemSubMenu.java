@@ -1,6 +1,9 @@
 package diarsid.desktop.ui.components.sidebar.impl.items;
 
+import java.util.List;
+
 import javafx.scene.control.Menu;
+import javafx.scene.control.MenuItem;
 
 import diarsid.desktop.ui.components.sidebar.api.Item;
 
@@ -12,12 +15,13 @@ class SidebarItemSubMenu extends Menu {
         this.item = item;
         super.setText(item.name());
 
-        item.itemContextMenuItems().forEach(menuItem -> {
+        List<MenuItem> menuItems = item.itemContextMenuItems();
+        menuItems.forEach(menuItem -> {
             menuItem.getStyleClass().add("sidepane-context-item-submenu-item");
             menuItem.getStyleClass().add("sidepane-context-item-submenu-item-" + menuItem.getText());
         });
 
-        super.getItems().setAll(item.itemContextMenuItems());
+        super.getItems().setAll(menuItems);
 
         super.getStyleClass().add("sidepane-context-menu");
         super.getStyleClass().add("sidepane-context-item-submenu");
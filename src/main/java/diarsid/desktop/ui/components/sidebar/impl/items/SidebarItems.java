@@ -2,7 +2,12 @@ package diarsid.desktop.ui.components.sidebar.impl.items;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -14,8 +19,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import diarsid.desktop.ui.components.sidebar.api.Item;
+import diarsid.desktop.ui.components.sidebar.api.ItemsDelta;
 import diarsid.support.strings.MultilineMessage;
 
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/*
+ * Holders of items are keyed by Item.uuid(). When items are changed, holders of items that are still present
+ * are reused and only their index-based style class is updated if their index has shifted. Holders of removed
+ * items are cleared and holders are created only for new items.
+ *
+ * ItemsDelta is applied directly to items, holders and given item nodes container without any diffing.
+ */
 class SidebarItems {
 
     private static final Logger log = LoggerFactory.getLogger(SidebarItems.class);
@@ -23,11 +42,14 @@ class SidebarItems {
     private final List<Item> items;
     private final List<Node> itemNodes;
     private final List<ItemHolder> itemHolders;
+    private final Map<UUID, ItemHolder> itemHoldersByUuid;
 
     private final ChangeListener<? super Number> itemNodeSizeChangeListener;
     private final Runnable hideContextMenuWhenItemInvoked;
     private final BiConsumer<MouseEvent, SidebarItemSubMenu> itemContextMenuInvoked;
 
+    private int indexOffset;
+
     SidebarItems(
             Supplier<List<Item>> initialItems,
             ChangeListener<? super Number> itemNodeSizeChangeListener,
@@ -36,30 +58,88 @@ class SidebarItems {
         this.items = initialItems.get();
         this.itemNodes = new ArrayList<>();
         this.itemHolders = new ArrayList<>();
+        this.itemHoldersByUuid = new HashMap<>();
 
         this.itemNodeSizeChangeListener = itemNodeSizeChangeListener;
         this.hideContextMenuWhenItemInvoked = hideContextMenuWhenItemInvoked;
         this.itemContextMenuInvoked = itemContextMenuInvoked;
+        this.indexOffset = 0;
 
         this.toNodes();
     }
 
     private void toNodes() {
+        Map<UUID, ItemHolder> previousItemHolders = new HashMap<>(this.itemHoldersByUuid);
+
         this.itemNodes.clear();
-        this.itemHolders.forEach(ItemHolder::clear);
         this.itemHolders.clear();
+        this.itemHoldersByUuid.clear();
 
         Item item;
+        ItemHolder itemHolder;
         for ( int i = 0; i < this.items.size(); i++ ) {
             item = this.items.get(i);
+            itemHolder = previousItemHolders.remove(item.uuid());
+
+            if ( nonNull(itemHolder) && itemHolder.item() != item ) {
+                itemHolder.clear();
+                itemHolder = null;
+            }
+
+            if ( isNull(itemHolder) ) {
+                itemHolder = new ItemHolder(
+                        this.indexOffset + i,
+                        item,
+                        this.itemNodeSizeChangeListener,
+                        this.hideContextMenuWhenItemInvoked,
+                        this.itemContextMenuInvoked);
+            }
+            else {
+                itemHolder.index(this.indexOffset + i);
+            }
+
             this.itemNodes.add(item.node());
-            this.itemHolders.add(new ItemHolder(
-                    i,
-                    item,
-                    this.itemNodeSizeChangeListener,
-                    this.hideContextMenuWhenItemInvoked,
-                    this.itemContextMenuInvoked));
+            this.itemHolders.add(itemHolder);
+            this.itemHoldersByUuid.put(item.uuid(), itemHolder);
         }
+
+        previousItemHolders.values().forEach(ItemHolder::clear);
+    }
+
+    /*
+     * Brings given children to the order of item nodes with minimal removes, inserts and moves, so
+     * that nodes of unchanged items stay attached.
+     */
+    void reconcile(List<Node> children) {
+        List<Node> itemNodes = this.itemNodes;
+        Set<Node> itemNodesSet = newSetFromMap(new IdentityHashMap<>());
+        itemNodesSet.addAll(itemNodes);
+        children.removeIf(child -> ! itemNodesSet.contains(child));
+
+        Node itemNode;
+        int existingAt;
+        for ( int i = 0; i < itemNodes.size(); i++ ) {
+            itemNode = itemNodes.get(i);
+
+            if ( i < children.size() && children.get(i) == itemNode ) {
+                continue;
+            }
+
+            existingAt = indexOfSame(children, itemNode, i);
+            if ( existingAt > -1 ) {
+                children.remove(existingAt);
+            }
+            children.add(i, itemNode);
+        }
+    }
+
+    private static int indexOfSame(List<Node> nodes, Node node, int from) {
+        for ( int i = from; i < nodes.size(); i++ ) {
+            if ( nodes.get(i) == node ) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     List<Node> nodes() {
@@ -80,4 +160,98 @@ class SidebarItems {
         log.info(message.compose());
         this.toNodes();
     }
+
+    /*
+     * Replaces all items with given ones without logging, as a window over larger list of items that
+     * begins at given index. Holders of items that stay in the window are reused.
+     */
+    void window(List<Item> windowItems, int indexOffset) {
+        this.indexOffset = indexOffset;
+        this.items.clear();
+        this.items.addAll(windowItems);
+        this.toNodes();
+    }
+
+    /*
+     * Given children have to contain item nodes in the same order as nodes() before the delta is applied,
+     * they will contain them in the same order after. Delta that is not applicable to items is ignored.
+     */
+    void apply(ItemsDelta delta, List<Node> children) {
+        if ( ! delta.isApplicableTo(this.items) ) {
+            log.warn(format("[SIDEBAR ITEMS] %s uuid:%s index:%s is ignored, it is not applicable to %s items",
+                    delta.type(), delta.uuid(), delta.index(), this.items.size()));
+            return;
+        }
+
+        log.info(format("[SIDEBAR ITEMS] %s uuid:%s", delta.type(), delta.uuid()));
+
+        ItemHolder existingHolder;
+        int existingAt;
+        switch ( delta.type() ) {
+            case INSERT:
+                this.insert(delta.index(), delta.item(), children);
+                this.reindexFrom(delta.index() + 1);
+                break;
+            case REMOVE:
+                existingHolder = this.itemHoldersByUuid.get(delta.uuid());
+                existingAt = this.itemHolders.indexOf(existingHolder);
+                this.removeAt(existingAt, children);
+                this.reindexFrom(existingAt);
+                break;
+            case MOVE:
+                existingHolder = this.itemHoldersByUuid.get(delta.uuid());
+                existingAt = this.itemHolders.indexOf(existingHolder);
+                if ( existingAt == delta.index() ) {
+                    return;
+                }
+                Item item = this.items.remove(existingAt);
+                Node itemNode = this.itemNodes.remove(existingAt);
+                this.itemHolders.remove(existingAt);
+                children.remove(existingAt);
+                this.items.add(delta.index(), item);
+                this.itemNodes.add(delta.index(), itemNode);
+                this.itemHolders.add(delta.index(), existingHolder);
+                children.add(delta.index(), itemNode);
+                this.reindexFrom(min(existingAt, delta.index()));
+                break;
+            case REPLACE:
+                existingHolder = this.itemHoldersByUuid.get(delta.uuid());
+                existingAt = this.itemHolders.indexOf(existingHolder);
+                this.removeAt(existingAt, children);
+                this.insert(existingAt, delta.item(), children);
+                break;
+            default:
+                throw delta.type().unsupported();
+        }
+    }
+
+    private void insert(int i, Item item, List<Node> children) {
+        ItemHolder itemHolder = new ItemHolder(
+                this.indexOffset + i,
+                item,
+                this.itemNodeSizeChangeListener,
+                this.hideContextMenuWhenItemInvoked,
+                this.itemContextMenuInvoked);
+
+        this.items.add(i, item);
+        this.itemNodes.add(i, item.node());
+        this.itemHolders.add(i, itemHolder);
+        this.itemHoldersByUuid.put(item.uuid(), itemHolder);
+        children.add(i, item.node());
+    }
+
+    private void removeAt(int i, List<Node> children) {
+        Item item = this.items.remove(i);
+        this.itemNodes.remove(i);
+        ItemHolder itemHolder = this.itemHolders.remove(i);
+        this.itemHoldersByUuid.remove(item.uuid());
+        children.remove(i);
+        itemHolder.clear();
+    }
+
+    private void reindexFrom(int from) {
+        for ( int i = from; i < this.itemHolders.size(); i++ ) {
+            this.itemHolders.get(i).index(this.indexOffset + i);
+        }
+    }
 }
@@ -0,0 +1,171 @@
+package diarsid.desktop.ui.components.sidebar.impl.items;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+import javafx.scene.control.Menu;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+
+import diarsid.desktop.ui.components.sidebar.api.Item;
+import diarsid.desktop.ui.components.sidebar.api.Items;
+import diarsid.desktop.ui.components.sidepane.api.Sidepane;
+import diarsid.support.javafx.geometry.Screen;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import static javafx.css.PseudoClass.getPseudoClass;
+import static javafx.scene.input.ScrollEvent.SCROLL;
+
+import static diarsid.support.javafx.geometry.Screen.Type.PHYSICAL;
+
+/*
+ * Items view for sidebars with large amount of items. Only a window of items that fits into the screen
+ * along the items direction, given fixed item extent, is attached to the scene graph and has its ItemHolder.
+ * Mouse scroll shifts the window by one item, scroll with Shift pressed shifts it by the whole window.
+ *
+ * Nodes belong to items themselves, so nodes and holders of items that leave the window are detached and
+ * cleared, while holders of items that stay in the window are reused. CSS, layout and listeners are applied
+ * only to items in the window. Index-based style class of an item reflects its index among all items.
+ *
+ * Pseudo classes 'has-before' and 'has-after' are set on items container when there are items out of
+ * the window before or after it.
+ */
+public class VirtualItemsView implements
+        Sidepane.Content.View<List<Item>>,
+        Sidepane.Content.Storable {
+
+    private static final PseudoClass CSS_ITEMS_HAS_BEFORE = getPseudoClass("has-before");
+    private static final PseudoClass CSS_ITEMS_HAS_AFTER = getPseudoClass("has-after");
+
+    private final Supplier<List<Item>> initialItems;
+    private final double itemExtent;
+    private final Screen screen;
+
+    private Items.Alignment itemsAlignment;
+    private List<Item> allItems;
+    private SidebarItems windowItems;
+    private int windowStart;
+    private int windowCapacity;
+    private ItemsContainers itemsContainers;
+    private Pane content;
+
+    /*
+     * itemExtent - length of one item along the items direction, including spacing between items.
+     */
+    public VirtualItemsView(
+            Items.Alignment itemsAlignment,
+            Supplier<List<Item>> initialItems,
+            double itemExtent) {
+        if ( itemExtent <= 0 ) {
+            throw new IllegalArgumentException("Item extent must be positive!");
+        }
+        this.itemsAlignment = itemsAlignment;
+        this.initialItems = initialItems;
+        this.itemExtent = itemExtent;
+        this.screen = Screen.screenOf(PHYSICAL);
+    }
+
+    @Override
+    public void initOnMount(
+            Runnable invokeResize,
+            Runnable hideContextMenu,
+            BiConsumer<MouseEvent, Menu> onMenuInvoked) {
+        this.allItems = this.initialItems.get();
+        this.windowStart = 0;
+        this.windowCapacity = 0;
+        this.windowItems = new SidebarItems(
+                ArrayList::new,
+                (prop, oldV, newV) -> {
+                    invokeResize.run();
+                },
+                hideContextMenu,
+                (event, itemSubMenu) -> {
+                    onMenuInvoked.accept(event, itemSubMenu);
+                });
+
+        this.itemsContainers = new ItemsContainers();
+        this.itemsContainers.addEventHandler(SCROLL, this::onScroll);
+    }
+
+    @Override
+    public void adoptChange(Screen.Side newSide) {
+        this.content = this.itemsContainers.containerFor(newSide, this.itemsAlignment);
+
+        double length;
+        if ( this.itemsContainers.isVertical(this.content) ) {
+            length = this.screen.height();
+        }
+        else {
+            length = this.screen.width();
+        }
+        this.windowCapacity = max(1, (int) (length / this.itemExtent));
+
+        this.moveWindowTo(this.windowStart);
+    }
+
+    @Override
+    public void adoptGivenChange(Consumer<List<Item>> mutation) {
+        mutation.accept(this.allItems);
+        this.moveWindowTo(this.windowStart);
+    }
+
+    private void onScroll(ScrollEvent event) {
+        if ( event.getDeltaY() == 0 && event.getDeltaX() == 0 ) {
+            return;
+        }
+
+        double delta = event.getDeltaY() != 0 ? event.getDeltaY() : event.getDeltaX();
+        int step = event.isShiftDown() ? this.windowCapacity : 1;
+
+        if ( delta < 0 ) {
+            this.moveWindowTo(this.windowStart + step);
+        }
+        else {
+            this.moveWindowTo(this.windowStart - step);
+        }
+
+        event.consume();
+    }
+
+    private void moveWindowTo(int start) {
+        int itemsCount = this.allItems.size();
+        int windowStart = max(0, min(start, itemsCount - this.windowCapacity));
+        int windowEnd = min(itemsCount, windowStart + this.windowCapacity);
+
+        this.windowStart = windowStart;
+        this.windowItems.window(this.allItems.subList(windowStart, windowEnd), windowStart);
+        this.windowItems.reconcile(this.content.getChildren());
+
+        this.content.pseudoClassStateChanged(CSS_ITEMS_HAS_BEFORE, windowStart > 0);
+        this.content.pseudoClassStateChanged(CSS_ITEMS_HAS_AFTER, windowEnd < itemsCount);
+    }
+
+    @Override
+    public void pseudoClassStateChanged(PseudoClass pseudoClass, boolean active) {
+        this.itemsContainers.pseudoClassStateChanged(pseudoClass, active);
+    }
+
+    @Override
+    public Node node() {
+        return this.content;
+    }
+
+    @Override
+    public Serializable stateToStore() {
+        return this.itemsAlignment;
+    }
+
+    @Override
+    public void restoreStateFromStored(Serializable storedState) {
+        this.itemsAlignment = (Items.Alignment) storedState;
+    }
+}
@@ -2,10 +2,14 @@ package diarsid.desktop.ui.components.sidepane.api;
 
 import java.io.Closeable;
 import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -56,8 +60,42 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
 
         Builder<T> hide(Behavior.Hide hide);
 
+        Builder<T> animation(Behavior.Animation animation);
+
+        Builder<T> contentCaching(Behavior.ContentCaching contentCaching);
+
+        Builder<T> hiddenContent(Behavior.HiddenContent hiddenContent);
+
+        /*
+         * When interval between animation frames exceeds frame budget the given number of times during one show
+         * or hide, this transition is finished at once and subsequent shows and hides are done instantly for the
+         * degradation period. Zero budget disables degradation. By default budget is 40 ms, animation is degraded
+         * after 3 exceeds for 5 seconds.
+         */
+        Builder<T> animationFrameBudget(long frameBudgetMillis, int exceedsToDegrade, long degradationMillis);
+
         Builder<T> mouseWatcher(MouseWatcher mouseWatcher);
 
+        Builder<T> queuedActions(int capacity, Control.Overflow overflow);
+
+        /*
+         * Enables predictive show. Sidepane starts to show when pointer moves toward its touch area and is
+         * expected to reach it within the given horizon. If the pointer does not reach the sidepane, such show
+         * is cancelled. Prediction is not used when custom MouseWatcher is given or when touch delay is set.
+         * Zero horizon disables prediction, it is disabled by default.
+         */
+        Builder<T> showPrediction(long horizonMillis);
+
+        /*
+         * Filters pointer input at the screen edge to avoid repeated show and hide of sidepane.
+         * Entry dwell - pointer has to stay in the touch area for this time to touch the session.
+         * Exit grace - session is not finished until pointer has been outside of sidepane for this time.
+         * Cooldown after hide - sidepane is not touched by pointer for this time after it has been hidden.
+         * Predicted touch of approaching pointer is not made while entry dwell or cooldown applies.
+         * By default there is no entry dwell, exit grace and cooldown after hide.
+         */
+        Builder<T> touchHysteresis(long entryDwellMillis, long exitGraceMillis, long cooldownAfterHideMillis);
+
         Sidepane<T> done();
     }
 
@@ -81,6 +119,12 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
 
     ReadOnlyObjectProperty<State> state();
 
+    /*
+     * Is true while smooth show and hide are done instantly, because animation frames have repeatedly
+     * exceeded their time budget. See Builder.animationFrameBudget.
+     */
+    ReadOnlyBooleanProperty animationDegraded();
+
     Control<T> control();
 
     @Override
@@ -136,9 +180,35 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
 
     interface Control<T> extends Movable {
 
+        /*
+         * Defines what happens with an action when the sidepane already has as many waiting actions as
+         * its capacity allows. Submission of actions never blocks the caller.
+         *
+         * DROP_OLDEST_MOVE - oldest waiting move is dropped and its CompletionStage is cancelled. If there
+         * is no waiting move, the new action is rejected.
+         * MERGE - new move is merged with all waiting moves, new content change is merged with content
+         * changes waiting at the end of the queue. If there is nothing to merge with, the new action is
+         * rejected.
+         * REJECT - new action is rejected.
+         *
+         * Session actions - touches, blocks and unblocks - are never dropped or rejected under any policy,
+         * they are queued beyond the capacity.
+         *
+         * CompletionStage of a rejected action is completed with RejectedExecutionException.
+         */
+        enum Overflow implements CommonEnum<Overflow> {
+            DROP_OLDEST_MOVE,
+            MERGE,
+            REJECT
+        }
+
         /* All methods of this interface are meant to be executed asynchronously.
          * Method invocation only issue a command to underlying component but do not wait for completion and returns
-         * before actual action will be completed or even before it will actually begin
+         * before actual action will be completed or even before it will actually begin.
+         *
+         * Methods with Async suffix do the same but return CompletionStage that is completed when the action
+         * has been actually applied to the sidepane. It is completed exceptionally if the action has failed or
+         * the sidepane has been closed before the action has been applied.
          */
 
         void moveTo(double coordinateOnCurrentSide);
@@ -151,6 +221,16 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
             this.moveTo(position.side(), position.coordinate());
         }
 
+        CompletionStage<Void> moveToAsync(double coordinateOnCurrentSide);
+
+        CompletionStage<Void> moveToAsync(Rectangle.Side side, double coordinateOnSide);
+
+        CompletionStage<Void> moveToAsync(Position.Relative relativePosition);
+
+        default CompletionStage<Void> moveToAsync(Position.Absolute position) {
+            return this.moveToAsync(position.side(), position.coordinate());
+        }
+
         Session session();
 
         Content<T> content();
@@ -166,6 +246,41 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
             SMOOTH
         }
 
+        /*
+         * MOVE_STAGE - sidepane window itself is moved on every frame of show or hide.
+         * SLIDE_CONTENT - sidepane window is moved only once per show or hide and frames slide its content
+         * inside of the window, as it is much cheaper than moving a transparent native window on every frame.
+         */
+        public static enum Animation implements CommonEnum<Animation> {
+            MOVE_STAGE,
+            SLIDE_CONTENT
+        }
+
+        /*
+         * Defines how content is rendered while sidepane is shown or hidden.
+         * NONE - content is rendered as is on every frame.
+         * CACHE_HINT - content is cached as a bitmap with CacheHint.SPEED during transition.
+         * SNAPSHOT - content is replaced by its snapshot during transition. Content does not receive mouse
+         * events until transition is over.
+         */
+        public static enum ContentCaching implements CommonEnum<ContentCaching> {
+            NONE,
+            CACHE_HINT,
+            SNAPSHOT
+        }
+
+        /*
+         * Defines how content is kept while sidepane is hidden.
+         * INVISIBLE - content is made invisible when sidepane is hidden, so every show has to apply CSS to it,
+         * lay it out and size the window to it again before animation can begin.
+         * WARM - content stays visible and laid out in the window parked off-screen. It is laid out again only
+         * when it has been changed while hidden, show begins animation on the very next pulse.
+         */
+        public static enum HiddenContent implements CommonEnum<HiddenContent> {
+            INVISIBLE,
+            WARM
+        }
+
         public static final class Hide extends Moving {
 
             public static Hide instant() {
@@ -228,6 +343,16 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
 
             void adoptGivenChange(Consumer<T> mutation);
 
+            /*
+             * Override to apply deltas incrementally. By default deltas are applied to content one by one
+             * as a single mutation.
+             */
+            default void adoptGivenDeltas(List<? extends Delta<T>> deltas) {
+                this.adoptGivenChange((content) -> {
+                    deltas.forEach(delta -> delta.accept(content));
+                });
+            }
+
             /*
              * Override to pass pseudo class change to underlying JavaFX component's of this View implementation
              */
@@ -235,6 +360,15 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
 
         }
 
+        /*
+         * Small change of content that describes exactly what is changed, so View can apply it without
+         * rediscovering what has been changed. Applied to content itself, it must have the same effect
+         * as it has on View.
+         */
+        public static interface Delta<T> extends Consumer<T> {
+
+        }
+
         /*
          * View<T> can extend Storable
          */
@@ -247,6 +381,20 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
 
         void change(Consumer<T> mutation);
 
+        /*
+         * Returned CompletionStage is completed when the mutation has been adopted by View and the sidepane
+         * has been resized according to it.
+         */
+        CompletionStage<Void> changeAsync(Consumer<T> mutation);
+
+        /*
+         * Deltas are applied in the given order as one batch. Batches waiting in the action queue are
+         * joined together while they consist only of deltas.
+         */
+        void apply(List<? extends Delta<T>> deltas);
+
+        CompletionStage<Void> applyAsync(List<? extends Delta<T>> deltas);
+
     }
 
     /*
@@ -263,6 +411,9 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
      * It is possible to set multiple blocks. Session will not end normally and sidebar will not hide while any
      * blocks are set. Methods .block(String) and .unblock(String) can be used for set and remove blocks respectively.
      * Method .unblock() that doesn't accept a block name removes all existing blocks.
+     * Blocks with the same name are counted - such block is removed when .unblock(String) has been invoked
+     * as many times as .block(String) was. Method .blocks() returns names of all blocks that currently
+     * hold the session open.
      *
      * Method .touchAndBlock(String) will start session AND block it after sidebar fully appears.
      *
@@ -275,6 +426,9 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
      * xWindow.onClosed(() -> {
      *     sidebar.control().session().unblock("X_WINDOW_OPEN");
      * });
+     *
+     * Methods with Async suffix return CompletionStage that is completed when the action has been applied.
+     * Touches are completed when the sidepane has fully appeared or when touch has not activated the session.
      */
     interface Session {
 
@@ -294,6 +448,20 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
 
         void unblock();
 
+        CompletionStage<Void> touchAsync();
+
+        CompletionStage<Void> touchAndBlockAsync(String block);
+
+        CompletionStage<Void> touchAndBlockAsync(String block, long millisForBlockToExist);
+
+        CompletionStage<Void> blockAsync(String block);
+
+        CompletionStage<Void> blockAsync(String block, long millisForBlockToExist);
+
+        CompletionStage<Void> unblockAsync(String block);
+
+        CompletionStage<Void> unblockAsync();
+
         boolean isBlocked();
 
         default boolean isNotBlocked() {
@@ -302,6 +470,8 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
 
         boolean hasBlock(String name);
 
+        Set<String> blocks();
+
         void add(Touch.Listener touchListener);
 
         boolean remove(Touch.Listener touchListener);
@@ -312,6 +482,7 @@ public interface Sidepane<T> extends Named, Rectangle, Visible, Closeable, Watch
 
                 String MANUAL = "TOUCH_IS_MANUAL";
                 String PROGRAMMATICAL = "TOUCH_IS_PROGRAMMATICAL";
+                String PREDICTED = "TOUCH_IS_PREDICTED";
 
             }
 
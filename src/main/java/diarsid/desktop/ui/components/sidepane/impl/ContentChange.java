@@ -1,12 +1,59 @@
 package diarsid.desktop.ui.components.sidepane.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
+import diarsid.desktop.ui.components.sidepane.api.Sidepane;
+
+import static java.util.Objects.nonNull;
+
+/*
+ * Change of content given either as mutation of whole content or as list of deltas. Changes that consist
+ * only of deltas are folded into one list of deltas, otherwise they are folded into one mutation.
+ */
 class ContentChange<T> extends QueuedAction {
 
     final Consumer<T> mutation;
+    final List<Sidepane.Content.Delta<T>> deltas;
 
     public ContentChange(Consumer<T> mutation) {
         this.mutation = mutation;
+        this.deltas = null;
+    }
+
+    public ContentChange(List<? extends Sidepane.Content.Delta<T>> deltas) {
+        this.mutation = null;
+        this.deltas = new ArrayList<>(deltas);
+    }
+
+    boolean isDeltas() {
+        return nonNull(this.deltas);
+    }
+
+    Consumer<T> asMutation() {
+        if ( this.isDeltas() ) {
+            return (content) -> {
+                this.deltas.forEach(delta -> delta.accept(content));
+            };
+        }
+        else {
+            return this.mutation;
+        }
+    }
+
+    ContentChange<T> foldWith(ContentChange<T> next) {
+        ContentChange<T> folded;
+        if ( this.isDeltas() && next.isDeltas() ) {
+            List<Sidepane.Content.Delta<T>> foldedDeltas = new ArrayList<>(this.deltas);
+            foldedDeltas.addAll(next.deltas);
+            folded = new ContentChange<>(foldedDeltas);
+        }
+        else {
+            folded = new ContentChange<>(this.asMutation().andThen(next.asMutation()));
+        }
+        this.completeWith(folded);
+        next.completeWith(folded);
+        return folded;
     }
 }
@@ -0,0 +1,40 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import diarsid.support.objects.CommonEnum;
+
+import static diarsid.desktop.ui.components.sidepane.impl.SessionAction.Kind.NAMED;
+
+class NamedTypedSessionAction extends SessionAction {
+
+    static enum Type implements CommonEnum<Type> {
+        TOUCH_AND_BLOCK,
+        BLOCK,
+        UNBLOCK;
+    }
+
+    final Type type;
+    final String name;
+    final long millisBlockToLive;
+
+    NamedTypedSessionAction(Type type, String name) {
+        super(NAMED);
+        this.type = type;
+        this.name = name;
+        this.millisBlockToLive = -1;
+    }
+
+    NamedTypedSessionAction(Type type, String name, long millisBlockToLive) {
+        super(NAMED);
+        this.type = type;
+        this.name = name;
+        this.millisBlockToLive = millisBlockToLive;
+    }
+
+    boolean is(Type type) {
+        return this.type.is(type);
+    }
+
+    boolean isUnblockOf(NamedTypedSessionAction block) {
+        return this.type.is(Type.UNBLOCK) && block.type.is(Type.BLOCK) && this.name.equals(block.name);
+    }
+}
@@ -0,0 +1,17 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+/*
+ * Latest known pointer location, as it has been sampled by a pointer watch.
+ */
+final class PointerSample {
+
+    final double x;
+    final double y;
+    final long nanos;
+
+    PointerSample(double x, double y) {
+        this.x = x;
+        this.y = y;
+        this.nanos = System.nanoTime();
+    }
+}
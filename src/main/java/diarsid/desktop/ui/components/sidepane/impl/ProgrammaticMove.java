@@ -0,0 +1,54 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import diarsid.desktop.ui.components.sidepane.api.Sidepane;
+import diarsid.desktop.ui.geometry.Rectangle;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+class ProgrammaticMove extends QueuedAction {
+
+    final Sidepane.Position.Relative relativePosition;
+    final Rectangle.Side to;
+    final double coordinate;
+
+    ProgrammaticMove(Rectangle.Side to, double coordinate) {
+        this.to = to;
+        this.coordinate = coordinate;
+        this.relativePosition = null;
+    }
+
+    ProgrammaticMove(double coordinate) {
+        this.to = null;
+        this.coordinate = coordinate;
+        this.relativePosition = null;
+    }
+
+    ProgrammaticMove(Sidepane.Position.Relative relativePosition) {
+        this.coordinate = Double.MIN_VALUE;
+        this.relativePosition = relativePosition;
+        this.to = relativePosition.side();
+    }
+
+    boolean sideIsSameAs(Rectangle.Side side) {
+        return isNull(this.to) || this.to.is(side);
+    }
+
+    boolean isRelative() {
+        return nonNull(this.relativePosition);
+    }
+
+    /*
+     * Returns move that has the same effect as this move made after the previous one.
+     * Move on current side inherits the side of previous move, if previous move has changed it.
+     */
+    ProgrammaticMove supersede(ProgrammaticMove previous) {
+        if ( nonNull(this.to) || isNull(previous.to) ) {
+            return this;
+        }
+
+        ProgrammaticMove merged = new ProgrammaticMove(previous.to, this.coordinate);
+        this.completeWith(merged);
+        return merged;
+    }
+}
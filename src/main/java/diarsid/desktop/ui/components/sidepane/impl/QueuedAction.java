@@ -1,4 +1,37 @@
 package diarsid.desktop.ui.components.sidepane.impl;
 
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.isNull;
+
 class QueuedAction {
+
+    private final CompletableFuture<Void> completion;
+
+    QueuedAction() {
+        this.completion = new CompletableFuture<>();
+    }
+
+    CompletableFuture<Void> completion() {
+        return this.completion;
+    }
+
+    void complete() {
+        this.completion.complete(null);
+    }
+
+    void fail(Throwable t) {
+        this.completion.completeExceptionally(t);
+    }
+
+    void completeWith(QueuedAction superseding) {
+        superseding.completion.whenComplete((nothing, failure) -> {
+            if ( isNull(failure) ) {
+                this.complete();
+            }
+            else {
+                this.fail(failure);
+            }
+        });
+    }
 }
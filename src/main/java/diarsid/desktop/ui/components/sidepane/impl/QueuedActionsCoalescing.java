@@ -0,0 +1,133 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Objects.nonNull;
+
+import static diarsid.desktop.ui.components.sidepane.impl.NamedTypedSessionAction.Type.TOUCH_AND_BLOCK;
+import static diarsid.desktop.ui.components.sidepane.impl.NamedTypedSessionAction.Type.UNBLOCK;
+
+/*
+ * Collapses queued actions that are superseded by subsequent actions in the same batch:
+ *  - all programmatic moves are replaced by the last one, which remains at its place in the batch;
+ *  - adjacent content changes are folded into one change;
+ *  - block and subsequent unblock with the same name cancel each other, unless there is a touch or
+ *    unblock of all blocks between them, because results of these actions depend on existing blocks.
+ * Completion of every superseded action follows completion of the action that supersedes it.
+ */
+class QueuedActionsCoalescing {
+
+    private QueuedActionsCoalescing() {}
+
+    static void coalesce(List<QueuedAction> actions) {
+        if ( actions.size() < 2 ) {
+            return;
+        }
+
+        collapseMoves(actions);
+        cancelBlockUnblockPairs(actions);
+        foldContentChanges(actions);
+    }
+
+    private static void collapseMoves(List<QueuedAction> actions) {
+        ProgrammaticMove lastMove = null;
+        int lastMoveIndex = -1;
+        boolean collapsed = false;
+
+        QueuedAction action;
+        for ( int i = 0; i < actions.size(); i++ ) {
+            action = actions.get(i);
+            if ( action instanceof ProgrammaticMove ) {
+                ProgrammaticMove move = (ProgrammaticMove) action;
+                if ( nonNull(lastMove) ) {
+                    move = move.supersede(lastMove);
+                    lastMove.completeWith(move);
+                    actions.set(lastMoveIndex, null);
+                    actions.set(i, move);
+                    collapsed = true;
+                }
+                lastMove = move;
+                lastMoveIndex = i;
+            }
+        }
+
+        if ( collapsed ) {
+            actions.removeIf(Objects::isNull);
+        }
+    }
+
+    private static void cancelBlockUnblockPairs(List<QueuedAction> actions) {
+        boolean cancelled = false;
+
+        QueuedAction action;
+        for ( int i = 1; i < actions.size(); i++ ) {
+            action = actions.get(i);
+
+            if ( ! (action instanceof NamedTypedSessionAction) ) {
+                continue;
+            }
+
+            NamedTypedSessionAction unblock = (NamedTypedSessionAction) action;
+            if ( ! unblock.is(UNBLOCK) ) {
+                continue;
+            }
+
+            QueuedAction previousAction;
+            for ( int j = i - 1; j > -1; j-- ) {
+                previousAction = actions.get(j);
+
+                if ( previousAction instanceof NamedTypedSessionAction ) {
+                    NamedTypedSessionAction previous = (NamedTypedSessionAction) previousAction;
+                    if ( unblock.isUnblockOf(previous) ) {
+                        previous.complete();
+                        unblock.complete();
+                        actions.set(j, null);
+                        actions.set(i, null);
+                        cancelled = true;
+                        break;
+                    }
+                    else if ( previous.is(TOUCH_AND_BLOCK) ) {
+                        break;
+                    }
+                }
+                else if ( previousAction instanceof SessionAction ) {
+                    break;
+                }
+            }
+        }
+
+        if ( cancelled ) {
+            actions.removeIf(Objects::isNull);
+        }
+    }
+
+    private static void foldContentChanges(List<QueuedAction> actions) {
+        boolean folded = false;
+
+        QueuedAction previousAction = null;
+        int previousIndex = -1;
+
+        QueuedAction action;
+        for ( int i = 0; i < actions.size(); i++ ) {
+            action = actions.get(i);
+
+            if ( action instanceof ContentChange && previousAction instanceof ContentChange ) {
+                ContentChange<Object> foldedChange = ((ContentChange<Object>) previousAction)
+                        .foldWith((ContentChange<Object>) action);
+                actions.set(previousIndex, foldedChange);
+                actions.set(i, null);
+                previousAction = foldedChange;
+                folded = true;
+            }
+            else {
+                previousAction = action;
+                previousIndex = i;
+            }
+        }
+
+        if ( folded ) {
+            actions.removeIf(Objects::isNull);
+        }
+    }
+}
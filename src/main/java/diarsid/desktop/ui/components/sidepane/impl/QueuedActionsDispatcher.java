@@ -0,0 +1,318 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import diarsid.desktop.ui.components.sidepane.api.Sidepane;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import static diarsid.desktop.ui.components.sidepane.impl.QueuedActionsCoalescing.coalesce;
+
+/*
+ * Drains queued actions directly on JavaFX thread, once per pulse, before the layout pass of the
+ * given Scene. Does not use any dedicated thread. Actions are accepted from any thread without blocking.
+ * Actions that are waiting for processing are coalesced, so that superseded actions are not processed at all.
+ *
+ * Action queued on JavaFX thread is processed immediately if there are no other waiting actions. When there are
+ * already as many waiting actions as capacity allows, new action is handled according to given Overflow policy.
+ * Session actions are never rejected on overflow, they are queued beyond the capacity under any policy.
+ */
+class QueuedActionsDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(QueuedActionsDispatcher.class);
+
+    private final String name;
+    private final int capacity;
+    private final Sidepane.Control.Overflow overflow;
+    private final Queue<QueuedAction> queuedActions;
+    private final AtomicInteger queuedActionsCount;
+    private final Object overflowLock;
+    private final List<QueuedAction> pendingActions;
+    private final Consumer<QueuedAction> process;
+    private final Runnable drainOnPulse;
+    private final Scene scene;
+    private boolean isProcessing;
+
+    QueuedActionsDispatcher(
+            String name,
+            int capacity,
+            Sidepane.Control.Overflow overflow,
+            Scene scene,
+            Consumer<QueuedAction> process) {
+        if ( capacity < 1 ) {
+            throw new IllegalArgumentException("Capacity must be positive!");
+        }
+
+        this.name = name;
+        this.capacity = capacity;
+        this.overflow = overflow;
+        this.scene = scene;
+        this.queuedActions = new ConcurrentLinkedQueue<>();
+        this.queuedActionsCount = new AtomicInteger(0);
+        this.overflowLock = new Object();
+        this.pendingActions = new ArrayList<>();
+        this.process = process;
+        this.drainOnPulse = this::drain;
+        this.isProcessing = false;
+
+        this.scene.addPreLayoutPulseListener(this.drainOnPulse);
+    }
+
+    void queue(QueuedAction queuedAction) {
+        if ( this.canProcessInline() ) {
+            this.isProcessing = true;
+            try {
+                this.processSafely(queuedAction);
+            }
+            finally {
+                this.isProcessing = false;
+            }
+            return;
+        }
+
+        if ( this.tryIncrementCount() ) {
+            this.queuedActions.add(queuedAction);
+        }
+        else {
+            this.queueOnOverflow(queuedAction);
+        }
+
+        Platform.requestNextPulse();
+    }
+
+    /*
+     * Can be invoked from any thread, disposal itself is always done on JavaFX thread.
+     */
+    void dispose() {
+        if ( Platform.isFxApplicationThread() ) {
+            this.disposeNow();
+        }
+        else {
+            Platform.runLater(this::disposeNow);
+        }
+    }
+
+    private void disposeNow() {
+        this.scene.removePreLayoutPulseListener(this.drainOnPulse);
+
+        QueuedAction queuedAction;
+        while ( nonNull(queuedAction = this.queuedActions.poll()) ) {
+            this.queuedActionsCount.decrementAndGet();
+            queuedAction.fail(new CancellationException("sidepane is closed"));
+        }
+
+        this.pendingActions.forEach(pendingAction -> {
+            pendingAction.fail(new CancellationException("sidepane is closed"));
+        });
+        this.pendingActions.clear();
+    }
+
+    private boolean canProcessInline() {
+        return Platform.isFxApplicationThread()
+                && ! this.isProcessing
+                && this.queuedActionsCount.get() == 0
+                && this.pendingActions.isEmpty();
+    }
+
+    private boolean tryIncrementCount() {
+        int count;
+        do {
+            count = this.queuedActionsCount.get();
+            if ( count >= this.capacity ) {
+                return false;
+            }
+        }
+        while ( ! this.queuedActionsCount.compareAndSet(count, count + 1) );
+
+        return true;
+    }
+
+    private void queueOnOverflow(QueuedAction queuedAction) {
+        if ( queuedAction instanceof SessionAction ) {
+            this.queueBeyondCapacity(queuedAction);
+            return;
+        }
+
+        synchronized ( this.overflowLock ) {
+            switch ( this.overflow ) {
+                case DROP_OLDEST_MOVE:
+                    this.dropOldestMoveAndQueue(queuedAction);
+                    break;
+                case MERGE:
+                    this.mergeAndQueue(queuedAction);
+                    break;
+                case REJECT:
+                    this.reject(queuedAction);
+                    break;
+                default:
+                    throw this.overflow.unsupported();
+            }
+        }
+    }
+
+    /*
+     * Session actions are not rejected because their callers usually do not observe the result, while rejected
+     * unblock would leave the session blocked forever.
+     */
+    private void queueBeyondCapacity(QueuedAction queuedAction) {
+        this.queuedActionsCount.incrementAndGet();
+        this.queuedActions.add(queuedAction);
+    }
+
+    private void dropOldestMoveAndQueue(QueuedAction queuedAction) {
+        for ( QueuedAction waitingAction : this.queuedActions ) {
+            if ( waitingAction instanceof ProgrammaticMove && this.queuedActions.remove(waitingAction) ) {
+                waitingAction.fail(new CancellationException("move is dropped on overflow"));
+                this.queuedActions.add(queuedAction);
+                return;
+            }
+        }
+
+        this.reject(queuedAction);
+    }
+
+    private void mergeAndQueue(QueuedAction queuedAction) {
+        QueuedAction merged;
+
+        if ( queuedAction instanceof ProgrammaticMove ) {
+            merged = this.mergeWithWaitingMoves((ProgrammaticMove) queuedAction);
+        }
+        else if ( queuedAction instanceof ContentChange ) {
+            merged = this.mergeWithWaitingContentChanges((ContentChange<Object>) queuedAction);
+        }
+        else {
+            merged = null;
+        }
+
+        if ( nonNull(merged) ) {
+            this.queuedActions.add(merged);
+        }
+        else {
+            this.reject(queuedAction);
+        }
+    }
+
+    private ProgrammaticMove mergeWithWaitingMoves(ProgrammaticMove move) {
+        ProgrammaticMove previous = null;
+
+        for ( QueuedAction waitingAction : this.queuedActions ) {
+            if ( waitingAction instanceof ProgrammaticMove && this.queuedActions.remove(waitingAction) ) {
+                this.queuedActionsCount.decrementAndGet();
+                ProgrammaticMove waitingMove = (ProgrammaticMove) waitingAction;
+                if ( nonNull(previous) ) {
+                    waitingMove = waitingMove.supersede(previous);
+                    previous.completeWith(waitingMove);
+                }
+                previous = waitingMove;
+            }
+        }
+
+        if ( isNull(previous) ) {
+            return null;
+        }
+
+        ProgrammaticMove merged = move.supersede(previous);
+        previous.completeWith(merged);
+        this.queuedActionsCount.incrementAndGet();
+
+        return merged;
+    }
+
+    /*
+     * Only content changes that are waiting at the tail of the queue, with no other actions after them, are
+     * merged with the new one, so that content changes are not reordered relative to other actions.
+     */
+    private ContentChange<Object> mergeWithWaitingContentChanges(ContentChange<Object> change) {
+        List<QueuedAction> tailChanges = new ArrayList<>();
+        for ( QueuedAction waitingAction : this.queuedActions ) {
+            if ( waitingAction instanceof ContentChange ) {
+                tailChanges.add(waitingAction);
+            }
+            else {
+                tailChanges.clear();
+            }
+        }
+
+        ContentChange<Object> folded = null;
+
+        for ( QueuedAction waitingAction : tailChanges ) {
+            if ( this.queuedActions.remove(waitingAction) ) {
+                this.queuedActionsCount.decrementAndGet();
+                ContentChange<Object> waitingChange = (ContentChange<Object>) waitingAction;
+                if ( isNull(folded) ) {
+                    folded = waitingChange;
+                }
+                else {
+                    folded = folded.foldWith(waitingChange);
+                }
+            }
+        }
+
+        if ( isNull(folded) ) {
+            return null;
+        }
+
+        this.queuedActionsCount.incrementAndGet();
+
+        return folded.foldWith(change);
+    }
+
+    private void reject(QueuedAction queuedAction) {
+        String message = format("%s[%s] has %s waiting actions, %s is rejected",
+                Sidepane.class.getSimpleName(),
+                this.name,
+                this.capacity,
+                queuedAction.getClass().getSimpleName());
+        log.warn(message);
+        queuedAction.fail(new RejectedExecutionException(message));
+    }
+
+    private void processSafely(QueuedAction queuedAction) {
+        try {
+            this.process.accept(queuedAction);
+        }
+        catch (Throwable t) {
+            log.error(t.getMessage(), t);
+            queuedAction.fail(t);
+        }
+    }
+
+    private void drain() {
+        QueuedAction queuedAction;
+        while ( nonNull(queuedAction = this.queuedActions.poll()) ) {
+            this.queuedActionsCount.decrementAndGet();
+            this.pendingActions.add(queuedAction);
+        }
+
+        if ( this.pendingActions.isEmpty() ) {
+            return;
+        }
+
+        coalesce(this.pendingActions);
+
+        this.isProcessing = true;
+        try {
+            for ( QueuedAction pendingAction : this.pendingActions ) {
+                this.processSafely(pendingAction);
+            }
+        }
+        finally {
+            this.isProcessing = false;
+            this.pendingActions.clear();
+        }
+    }
+}
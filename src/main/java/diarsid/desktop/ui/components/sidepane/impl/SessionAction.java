@@ -0,0 +1,18 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import diarsid.support.objects.CommonEnum;
+
+class SessionAction extends QueuedAction {
+
+    static enum Kind implements CommonEnum<Kind> {
+        TOUCH,
+        UNBLOCK_ALL,
+        NAMED;
+    }
+
+    final Kind kind;
+
+    SessionAction(Kind kind) {
+        this.kind = kind;
+    }
+}
@@ -0,0 +1,188 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static java.lang.Long.signum;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Set.copyOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/*
+ * Registry of session blocks keyed by block name. Blocks with the same name are counted, block name is held
+ * until it is removed as many times as it has been added. All checks are O(1).
+ *
+ * Timed blocks of the session share one expiry queue, only the earliest of them is scheduled on
+ * SessionTimerWheel at any moment. Expiry deadlines are measured with System.nanoTime(), so they are not
+ * affected by wall clock adjustments.
+ *
+ * Each timed block holds one count of its name. Manual removal of a name also withdraws one of its pending
+ * timed blocks, the one that expires first, and expiry of a timed block releases only the count held by it,
+ * so a stale expiry never releases a block that has been added later with the same name. Given callback is
+ * invoked with the name after its timed block has expired and has been removed.
+ */
+class SessionBlocks {
+
+    private static class TimedBlock {
+
+        private final String name;
+        private final long expiresAtNanos;
+
+        private TimedBlock(String name, long expiresAtNanos) {
+            this.name = name;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final Map<String, Integer> counts;
+    private final Queue<TimedBlock> timedBlocks;
+    private final SessionTimerWheel timers;
+    private final Consumer<String> onExpired;
+    private SessionTimerWheel.Timeout expiration;
+
+    SessionBlocks(SessionTimerWheel timers, Consumer<String> onExpired) {
+        this.counts = new ConcurrentHashMap<>();
+        this.timedBlocks = new PriorityQueue<>(
+                (oneBlock, otherBlock) -> signum(oneBlock.expiresAtNanos - otherBlock.expiresAtNanos));
+        this.timers = timers;
+        this.onExpired = onExpired;
+        this.expiration = null;
+    }
+
+    void add(String name) {
+        this.counts.merge(name, 1, Integer::sum);
+    }
+
+    void add(String name, long millisToExist) {
+        this.add(name);
+
+        TimedBlock timedBlock = new TimedBlock(name, nanoTime() + MILLISECONDS.toNanos(millisToExist));
+        synchronized ( this.timedBlocks ) {
+            this.timedBlocks.add(timedBlock);
+            if ( this.timedBlocks.peek() == timedBlock ) {
+                this.scheduleExpiration(millisToExist);
+            }
+        }
+    }
+
+    boolean remove(String name) {
+        synchronized ( this.timedBlocks ) {
+            boolean removed = this.decrement(name);
+            if ( removed ) {
+                this.withdrawTimedBlock(name);
+            }
+            return removed;
+        }
+    }
+
+    void clear() {
+        this.counts.clear();
+        synchronized ( this.timedBlocks ) {
+            this.timedBlocks.clear();
+            if ( nonNull(this.expiration) ) {
+                this.expiration.cancel();
+                this.expiration = null;
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return this.counts.isEmpty();
+    }
+
+    boolean isNotEmpty() {
+        return ! this.counts.isEmpty();
+    }
+
+    boolean contains(String name) {
+        return this.counts.containsKey(name);
+    }
+
+    Set<String> names() {
+        return copyOf(this.counts.keySet());
+    }
+
+    private boolean decrement(String name) {
+        boolean[] decremented = new boolean[] { false };
+
+        this.counts.computeIfPresent(name, (blockName, count) -> {
+            decremented[0] = true;
+            return count > 1 ? count - 1 : null;
+        });
+
+        return decremented[0];
+    }
+
+    private void withdrawTimedBlock(String name) {
+        TimedBlock firstExpiring = null;
+        for ( TimedBlock timedBlock : this.timedBlocks ) {
+            if ( timedBlock.name.equals(name)
+                    && (isNull(firstExpiring) || timedBlock.expiresAtNanos - firstExpiring.expiresAtNanos < 0) ) {
+                firstExpiring = timedBlock;
+            }
+        }
+
+        if ( isNull(firstExpiring) ) {
+            return;
+        }
+
+        boolean wasScheduled = this.timedBlocks.peek() == firstExpiring;
+        this.timedBlocks.remove(firstExpiring);
+
+        if ( wasScheduled ) {
+            TimedBlock next = this.timedBlocks.peek();
+            if ( isNull(next) ) {
+                if ( nonNull(this.expiration) ) {
+                    this.expiration.cancel();
+                    this.expiration = null;
+                }
+            }
+            else {
+                long remainingNanos = next.expiresAtNanos - nanoTime();
+                this.scheduleExpiration(max(1, NANOSECONDS.toMillis(remainingNanos)));
+            }
+        }
+    }
+
+    private void scheduleExpiration(long millis) {
+        if ( nonNull(this.expiration) ) {
+            this.expiration.cancel();
+        }
+        this.expiration = this.timers.schedule(this::expire, millis);
+    }
+
+    private void expire() {
+        long now = nanoTime();
+        TimedBlock timedBlock;
+
+        while ( true ) {
+            synchronized ( this.timedBlocks ) {
+                timedBlock = this.timedBlocks.peek();
+
+                if ( isNull(timedBlock) ) {
+                    this.expiration = null;
+                    return;
+                }
+
+                long remainingNanos = timedBlock.expiresAtNanos - now;
+                if ( remainingNanos > 0 ) {
+                    this.scheduleExpiration(max(1, NANOSECONDS.toMillis(remainingNanos)));
+                    return;
+                }
+
+                this.timedBlocks.poll();
+                this.decrement(timedBlock.name);
+            }
+
+            this.onExpired.accept(timedBlock.name);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.lang.Math.max;
+import static java.util.Objects.nonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/*
+ * Process-wide hashed timer wheel for timeouts of all sidepane sessions. Uses one daemon thread that wakes up
+ * once per tick while there are pending timeouts and sleeps when there are none.
+ *
+ * Deadline of a pending timeout can be prolonged without rescheduling. When the bucket of a timeout is reached,
+ * timeout expires only if its actual deadline has passed, otherwise it is moved to the bucket of the new deadline.
+ * Tasks of expired timeouts are executed on the wheel thread, thus they have to be short.
+ */
+class SessionTimerWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTimerWheel.class);
+
+    private static final SessionTimerWheel SHARED = new SessionTimerWheel(10, 512);
+
+    static SessionTimerWheel shared() {
+        return SHARED;
+    }
+
+    static final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final AtomicInteger state;
+        private volatile long deadlineNanos;
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.state = new AtomicInteger(PENDING);
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /*
+         * Moves deadline of pending timeout. Returns false if timeout has already expired or has been cancelled,
+         * in this case new timeout should be scheduled.
+         */
+        boolean prolong(long millis) {
+            this.deadlineNanos = System.nanoTime() + MILLISECONDS.toNanos(millis);
+            return this.state.get() == PENDING;
+        }
+
+        long remainingMillis() {
+            return NANOSECONDS.toMillis(this.deadlineNanos - System.nanoTime());
+        }
+
+        boolean cancel() {
+            return this.state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        boolean isPending() {
+            return this.state.get() == PENDING;
+        }
+
+        private boolean isCancelled() {
+            return this.state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if ( this.state.compareAndSet(PENDING, EXPIRED) ) {
+                try {
+                    this.task.run();
+                }
+                catch (Throwable t) {
+                    log.error(t.getMessage(), t);
+                }
+            }
+        }
+    }
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Queue<Timeout>> buckets;
+    private final Queue<Timeout> newTimeouts;
+    private final AtomicInteger pendingTimeouts;
+    private final Thread worker;
+    private final long startNanos;
+    private long tick;
+
+    private SessionTimerWheel(long tickMillis, int wheelSize) {
+        if ( Integer.bitCount(wheelSize) != 1 ) {
+            throw new IllegalArgumentException("Wheel size must be a power of 2!");
+        }
+
+        this.tickNanos = MILLISECONDS.toNanos(tickMillis);
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for ( int i = 0; i < wheelSize; i++ ) {
+            this.buckets.add(new ArrayDeque<>());
+        }
+        this.newTimeouts = new ConcurrentLinkedQueue<>();
+        this.pendingTimeouts = new AtomicInteger(0);
+        this.startNanos = System.nanoTime();
+        this.tick = 0;
+
+        this.worker = new Thread(this::work, SessionTimerWheel.class.getSimpleName());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    Timeout schedule(Runnable task, long delayMillis) {
+        Timeout timeout = new Timeout(task, System.nanoTime() + MILLISECONDS.toNanos(delayMillis));
+        this.newTimeouts.add(timeout);
+        if ( this.pendingTimeouts.getAndIncrement() == 0 ) {
+            LockSupport.unpark(this.worker);
+        }
+        return timeout;
+    }
+
+    private void work() {
+        while ( true ) {
+            try {
+                this.awaitNextTick();
+                this.transferNewTimeouts();
+                this.expireTimeoutsOf(this.buckets.get((int) (this.tick & this.mask)));
+                this.tick++;
+            }
+            catch (Throwable t) {
+                log.error(t.getMessage(), t);
+            }
+        }
+    }
+
+    private void awaitNextTick() {
+        if ( this.pendingTimeouts.get() == 0 ) {
+            while ( this.pendingTimeouts.get() == 0 ) {
+                LockSupport.park(this);
+            }
+            this.tick = max(this.tick, this.currentTick());
+        }
+
+        long nextTickNanos = this.startNanos + (this.tick + 1) * this.tickNanos;
+        long sleepNanos;
+        while ( (sleepNanos = nextTickNanos - System.nanoTime()) > 0 ) {
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - this.startNanos) / this.tickNanos;
+    }
+
+    private void transferNewTimeouts() {
+        Timeout timeout;
+        while ( nonNull(timeout = this.newTimeouts.poll()) ) {
+            if ( timeout.isCancelled() ) {
+                this.pendingTimeouts.decrementAndGet();
+            }
+            else {
+                this.place(timeout, this.tick);
+            }
+        }
+    }
+
+    private void place(Timeout timeout, long earliestTick) {
+        long deadlineTick = max((timeout.deadlineNanos - this.startNanos) / this.tickNanos, earliestTick);
+        timeout.remainingRounds = (deadlineTick - this.tick) / this.buckets.size();
+        this.buckets.get((int) (deadlineTick & this.mask)).add(timeout);
+    }
+
+    private void expireTimeoutsOf(Queue<Timeout> bucket) {
+        if ( bucket.isEmpty() ) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        List<Timeout> prolonged = null;
+
+        Iterator<Timeout> timeouts = bucket.iterator();
+        Timeout timeout;
+        while ( timeouts.hasNext() ) {
+            timeout = timeouts.next();
+
+            if ( timeout.isCancelled() ) {
+                timeouts.remove();
+                this.pendingTimeouts.decrementAndGet();
+            }
+            else if ( timeout.remainingRounds > 0 ) {
+                timeout.remainingRounds--;
+            }
+            else if ( timeout.deadlineNanos - now > this.tickNanos ) {
+                timeouts.remove();
+                if ( prolonged == null ) {
+                    prolonged = new ArrayList<>();
+                }
+                prolonged.add(timeout);
+            }
+            else {
+                timeouts.remove();
+                this.pendingTimeouts.decrementAndGet();
+                timeout.expire();
+            }
+        }
+
+        if ( nonNull(prolonged) ) {
+            for ( Timeout prolongedTimeout : prolonged ) {
+                this.place(prolongedTimeout, this.tick + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,520 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import java.awt.MouseInfo;
+import java.awt.PointerInfo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import diarsid.desktop.ui.components.sidepane.impl.areas.SidepaneGeometry;
+import diarsid.desktop.ui.geometry.Rectangle;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Comparator.comparingDouble;
+import static java.util.Objects.isNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static diarsid.desktop.ui.geometry.Rectangle.Side.LEFT;
+import static diarsid.desktop.ui.geometry.Rectangle.Side.Orientation.HORIZONTAL;
+import static diarsid.desktop.ui.geometry.Rectangle.Side.TOP;
+
+/*
+ * Process-wide watch of mouse pointer for all sidepanes that are not given a custom MouseWatcher.
+ * One daemon thread samples pointer location and resolves it against touch areas of all registered sidepanes.
+ *
+ * Touch areas are kept in an index bucketed by screen edge. Each bucket is sorted by the start of touch area
+ * along its edge, so a pointer sample is resolved by a binary search per edge and polling cost does not grow
+ * with number of sidepanes on each edge. Index is immutable, it is rebuilt only when some touch area actually
+ * changes its bounds.
+ *
+ * Polling rate is adaptive. While some session is active, pointer is polled with the fast rate. Otherwise delay
+ * before the next sample is the time that pointer needs to reach the nearest edge bucket with the assumed
+ * pointer speed, thus it backs off to the slow rate when pointer is far from all touch areas.
+ *
+ * Sidepane can be registered with a prediction horizon. Pointer velocity is estimated from recent samples and
+ * when projected pointer trajectory hits the touch area of such sidepane within its horizon, sidepane is notified
+ * that pointer approaches it. If pointer then turns away without reaching the touch area, prediction is cancelled.
+ */
+class SharedPointerWatch {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedPointerWatch.class);
+
+    private static final long MAX_VELOCITY_SAMPLE_MILLIS = 300;
+    private static final double MIN_PREDICTED_SPEED = 0.5;
+
+    private static final SharedPointerWatch SHARED = new SharedPointerWatch(10, 250, 4);
+
+    static SharedPointerWatch shared() {
+        return SHARED;
+    }
+
+    static final class Registration {
+
+        private final SidepaneMouseWatch mouseWatch;
+        private final SidepaneGeometry geometry;
+        private final ReadOnlyObjectProperty<Rectangle.Side> side;
+        private final BooleanSupplier isSessionActive;
+        private final long showPredictionHorizonMillis;
+        private Entry entry;
+        private boolean isPointerInside;
+        private boolean isPointerApproaching;
+
+        private Registration(
+                SidepaneMouseWatch mouseWatch,
+                SidepaneGeometry geometry,
+                ReadOnlyObjectProperty<Rectangle.Side> side,
+                BooleanSupplier isSessionActive,
+                long showPredictionHorizonMillis) {
+            this.mouseWatch = mouseWatch;
+            this.geometry = geometry;
+            this.side = side;
+            this.isSessionActive = isSessionActive;
+            this.showPredictionHorizonMillis = showPredictionHorizonMillis;
+            this.entry = new Entry(this);
+            this.isPointerInside = false;
+            this.isPointerApproaching = false;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Registration registration;
+        private final Rectangle.Side side;
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+
+        private Entry(Registration registration) {
+            this.registration = registration;
+            this.side = registration.side.get();
+            SidepaneGeometry.Bounds touch = registration.geometry.touch();
+            this.minX = touch.x();
+            this.minY = touch.y();
+            this.maxX = this.minX + touch.width();
+            this.maxY = this.minY + touch.height();
+        }
+
+        private boolean hasSameBoundsAs(Entry other) {
+            return this.side == other.side
+                    && this.minX == other.minX
+                    && this.minY == other.minY
+                    && this.maxX == other.maxX
+                    && this.maxY == other.maxY;
+        }
+
+        private double startAlong(boolean alongX) {
+            return alongX ? this.minX : this.minY;
+        }
+
+        private double endAlong(boolean alongX) {
+            return alongX ? this.maxX : this.maxY;
+        }
+
+        private boolean contains(double x, double y) {
+            return this.minX <= x && x <= this.maxX
+                    && this.minY <= y && y <= this.maxY;
+        }
+    }
+
+    private static final class EdgeBucket {
+
+        private final boolean alongX;
+        private final boolean isLowEdge;
+        private final Entry[] entries;
+        private final double[] starts;
+        private final double[] maxEndsSoFar;
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+
+        private EdgeBucket(Rectangle.Side side, List<Entry> entries) {
+            this.alongX = side.orientation.is(HORIZONTAL);
+            this.isLowEdge = side.is(TOP) || side.is(LEFT);
+            this.entries = entries.toArray(new Entry[0]);
+            Arrays.sort(this.entries, comparingDouble(entry -> entry.startAlong(this.alongX)));
+
+            this.starts = new double[this.entries.length];
+            this.maxEndsSoFar = new double[this.entries.length];
+            double maxEnd = Double.NEGATIVE_INFINITY;
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            Entry entry;
+            for ( int i = 0; i < this.entries.length; i++ ) {
+                entry = this.entries[i];
+                maxEnd = max(maxEnd, entry.endAlong(this.alongX));
+                this.starts[i] = entry.startAlong(this.alongX);
+                this.maxEndsSoFar[i] = maxEnd;
+                minX = min(minX, entry.minX);
+                minY = min(minY, entry.minY);
+                maxX = max(maxX, entry.maxX);
+                maxY = max(maxY, entry.maxY);
+            }
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        /*
+         * Distance to the bounding box of all touch areas of this edge. It is not greater than
+         * distance to any of these touch areas.
+         */
+        private double distanceTo(double x, double y) {
+            double dX = max(max(this.minX - x, x - this.maxX), 0);
+            double dY = max(max(this.minY - y, y - this.maxY), 0);
+            return max(dX, dY);
+        }
+
+        private void collectContaining(double x, double y, List<Registration> containing) {
+            double along = this.alongX ? x : y;
+
+            int i = this.lastStartNotAfter(along);
+            while ( i >= 0 && this.maxEndsSoFar[i] >= along ) {
+                if ( this.entries[i].contains(x, y) ) {
+                    containing.add(this.entries[i].registration);
+                }
+                i--;
+            }
+        }
+
+        /*
+         * Collects sidepanes whose touch areas are hit by pointer moving from x0:y0 to x1:y1 during given
+         * time, if hit happens within their own prediction horizons.
+         */
+        private void collectHitBy(
+                double x0, double y0, double x1, double y1, long millis, List<Registration> hit) {
+            double perpendicular0 = this.alongX ? y0 : x0;
+            double perpendicular1 = this.alongX ? y1 : x1;
+
+            double pathPartToHit;
+            if ( this.isLowEdge ) {
+                double stripMax = this.alongX ? this.maxY : this.maxX;
+                if ( perpendicular0 <= stripMax || perpendicular1 > stripMax ) {
+                    return;
+                }
+                pathPartToHit = (perpendicular0 - stripMax) / (perpendicular0 - perpendicular1);
+            }
+            else {
+                double stripMin = this.alongX ? this.minY : this.minX;
+                if ( perpendicular0 >= stripMin || perpendicular1 < stripMin ) {
+                    return;
+                }
+                pathPartToHit = (stripMin - perpendicular0) / (perpendicular1 - perpendicular0);
+            }
+
+            double along = this.alongX ? x0 + pathPartToHit * (x1 - x0) : y0 + pathPartToHit * (y1 - y0);
+            long millisToHit = (long) (pathPartToHit * millis);
+
+            Entry entry;
+            int i = this.lastStartNotAfter(along);
+            while ( i >= 0 && this.maxEndsSoFar[i] >= along ) {
+                entry = this.entries[i];
+                if ( entry.endAlong(this.alongX) >= along
+                        && entry.registration.showPredictionHorizonMillis >= millisToHit ) {
+                    hit.add(entry.registration);
+                }
+                i--;
+            }
+        }
+
+        private int lastStartNotAfter(double along) {
+            int low = 0;
+            int high = this.starts.length - 1;
+            int found = -1;
+
+            while ( low <= high ) {
+                int middle = (low + high) >>> 1;
+                if ( this.starts[middle] <= along ) {
+                    found = middle;
+                    low = middle + 1;
+                }
+                else {
+                    high = middle - 1;
+                }
+            }
+
+            return found;
+        }
+    }
+
+    private final long fastPollMillis;
+    private final long slowPollMillis;
+    private final double pointerPixelsPerMilli;
+    private final List<Registration> registrations;
+    private volatile List<EdgeBucket> index;
+    private volatile List<Registration> watched;
+    private volatile long maxPredictionHorizonMillis;
+    private volatile PointerSample lastSample;
+    private List<Registration> pointerInside;
+    private List<Registration> pointerInsideNow;
+    private List<Registration> pointerApproaching;
+    private List<Registration> pointerApproachingNow;
+    private long lastSampleNanos;
+    private double lastX;
+    private double lastY;
+    private double velocityX;
+    private double velocityY;
+    private Thread poller;
+
+    private SharedPointerWatch(long fastPollMillis, long slowPollMillis, double pointerPixelsPerMilli) {
+        this.fastPollMillis = fastPollMillis;
+        this.slowPollMillis = slowPollMillis;
+        this.pointerPixelsPerMilli = pointerPixelsPerMilli;
+        this.registrations = new ArrayList<>();
+        this.index = List.of();
+        this.watched = List.of();
+        this.maxPredictionHorizonMillis = 0;
+        this.lastSample = null;
+        this.pointerInside = new ArrayList<>();
+        this.pointerInsideNow = new ArrayList<>();
+        this.pointerApproaching = new ArrayList<>();
+        this.pointerApproachingNow = new ArrayList<>();
+        this.lastSampleNanos = 0;
+        this.velocityX = 0;
+        this.velocityY = 0;
+        this.poller = null;
+    }
+
+    synchronized Registration add(
+            SidepaneMouseWatch mouseWatch,
+            SidepaneGeometry geometry,
+            ReadOnlyObjectProperty<Rectangle.Side> side,
+            BooleanSupplier isSessionActive,
+            long showPredictionHorizonMillis) {
+        Registration registration = new Registration(
+                mouseWatch, geometry, side, isSessionActive, showPredictionHorizonMillis);
+        this.registrations.add(registration);
+        this.rebuildIndex();
+
+        geometry.onTouchAreaChange(() -> this.touchAreaChanged(registration));
+
+        if ( isNull(this.poller) ) {
+            this.poller = new Thread(this::poll, SharedPointerWatch.class.getSimpleName());
+            this.poller.setDaemon(true);
+            this.poller.start();
+        }
+        else {
+            LockSupport.unpark(this.poller);
+        }
+
+        return registration;
+    }
+
+    /*
+     * Returns latest pointer sample or null if pointer has not been sampled yet. While some session is active,
+     * sample is not older than the fast poll period.
+     */
+    PointerSample lastSample() {
+        return this.lastSample;
+    }
+
+    synchronized void remove(Registration registration) {
+        if ( this.registrations.remove(registration) ) {
+            registration.geometry.onTouchAreaChange(null);
+            this.rebuildIndex();
+        }
+    }
+
+    private synchronized void touchAreaChanged(Registration registration) {
+        Entry entry = new Entry(registration);
+        if ( entry.hasSameBoundsAs(registration.entry) ) {
+            return;
+        }
+
+        registration.entry = entry;
+        if ( this.registrations.contains(registration) ) {
+            this.rebuildIndex();
+        }
+    }
+
+    private void rebuildIndex() {
+        Map<Rectangle.Side, List<Entry>> entriesBySide = new EnumMap<>(Rectangle.Side.class);
+        for ( Registration registration : this.registrations ) {
+            entriesBySide
+                    .computeIfAbsent(registration.entry.side, side -> new ArrayList<>())
+                    .add(registration.entry);
+        }
+
+        List<EdgeBucket> buckets = new ArrayList<>();
+        entriesBySide.forEach((side, entries) -> {
+            buckets.add(new EdgeBucket(side, entries));
+        });
+
+        this.index = buckets;
+        this.watched = List.copyOf(this.registrations);
+
+        long maxPredictionHorizonMillis = 0;
+        for ( Registration registration : this.registrations ) {
+            maxPredictionHorizonMillis = max(maxPredictionHorizonMillis, registration.showPredictionHorizonMillis);
+        }
+        this.maxPredictionHorizonMillis = maxPredictionHorizonMillis;
+    }
+
+    private void poll() {
+        long delayMillis;
+        while ( true ) {
+            delayMillis = this.slowPollMillis;
+            try {
+                List<EdgeBucket> currentIndex = this.index;
+                if ( currentIndex.isEmpty() ) {
+                    this.dispatchPointerInside();
+                    this.dispatchPointerApproaching();
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                PointerInfo pointer = MouseInfo.getPointerInfo();
+                if ( pointer != null ) {
+                    double x = pointer.getLocation().getX();
+                    double y = pointer.getLocation().getY();
+                    this.lastSample = new PointerSample(x, y);
+                    for ( EdgeBucket bucket : currentIndex ) {
+                        bucket.collectContaining(x, y, this.pointerInsideNow);
+                    }
+                    this.estimateVelocity(x, y);
+                    this.predict(currentIndex, x, y);
+                    delayMillis = this.nextPollDelayMillis(currentIndex, x, y);
+                }
+
+                this.dispatchPointerInside();
+                this.dispatchPointerApproaching();
+            }
+            catch (Throwable t) {
+                log.error(t.getMessage(), t);
+            }
+
+            LockSupport.parkNanos(this, MILLISECONDS.toNanos(delayMillis));
+        }
+    }
+
+    private void estimateVelocity(double x, double y) {
+        long now = System.nanoTime();
+        double elapsedMillis = (now - this.lastSampleNanos) / 1_000_000.0;
+
+        if ( this.lastSampleNanos == 0 || elapsedMillis <= 0 || elapsedMillis > MAX_VELOCITY_SAMPLE_MILLIS ) {
+            this.velocityX = 0;
+            this.velocityY = 0;
+        }
+        else {
+            this.velocityX = (this.velocityX + (x - this.lastX) / elapsedMillis) / 2;
+            this.velocityY = (this.velocityY + (y - this.lastY) / elapsedMillis) / 2;
+        }
+
+        this.lastSampleNanos = now;
+        this.lastX = x;
+        this.lastY = y;
+    }
+
+    private double speed() {
+        return Math.hypot(this.velocityX, this.velocityY);
+    }
+
+    private void predict(List<EdgeBucket> currentIndex, double x, double y) {
+        long horizonMillis = this.maxPredictionHorizonMillis;
+        if ( horizonMillis == 0 || this.speed() < MIN_PREDICTED_SPEED ) {
+            return;
+        }
+
+        double projectedX = x + this.velocityX * horizonMillis;
+        double projectedY = y + this.velocityY * horizonMillis;
+        for ( EdgeBucket bucket : currentIndex ) {
+            bucket.collectHitBy(x, y, projectedX, projectedY, horizonMillis, this.pointerApproachingNow);
+        }
+    }
+
+    private long nextPollDelayMillis(List<EdgeBucket> currentIndex, double x, double y) {
+        if ( ! this.pointerApproachingNow.isEmpty() ) {
+            return this.fastPollMillis;
+        }
+
+        for ( Registration registration : this.watched ) {
+            if ( registration.isSessionActive.getAsBoolean() ) {
+                return this.fastPollMillis;
+            }
+        }
+
+        double distance = Double.POSITIVE_INFINITY;
+        for ( EdgeBucket bucket : currentIndex ) {
+            distance = min(distance, bucket.distanceTo(x, y));
+        }
+
+        long millisToReachEdge = (long) (distance / max(this.pointerPixelsPerMilli, this.speed()));
+
+        return max(this.fastPollMillis, min(this.slowPollMillis, millisToReachEdge));
+    }
+
+    private void dispatchPointerInside() {
+        for ( Registration registration : this.pointerInside ) {
+            if ( ! this.pointerInsideNow.contains(registration) ) {
+                registration.isPointerInside = false;
+                this.notifyOf(registration, false);
+            }
+        }
+
+        for ( Registration registration : this.pointerInsideNow ) {
+            if ( ! registration.isPointerInside ) {
+                registration.isPointerInside = true;
+                this.notifyOf(registration, true);
+            }
+        }
+
+        List<Registration> swap = this.pointerInside;
+        this.pointerInside = this.pointerInsideNow;
+        this.pointerInsideNow = swap;
+        this.pointerInsideNow.clear();
+    }
+
+    private void dispatchPointerApproaching() {
+        for ( Registration registration : this.pointerApproaching ) {
+            if ( ! this.pointerApproachingNow.contains(registration) ) {
+                registration.isPointerApproaching = false;
+                if ( ! registration.isPointerInside ) {
+                    this.notifyOfApproaching(registration, false);
+                }
+            }
+        }
+
+        for ( Registration registration : this.pointerApproachingNow ) {
+            if ( ! registration.isPointerApproaching ) {
+                registration.isPointerApproaching = true;
+                this.notifyOfApproaching(registration, true);
+            }
+        }
+
+        List<Registration> swap = this.pointerApproaching;
+        this.pointerApproaching = this.pointerApproachingNow;
+        this.pointerApproachingNow = swap;
+        this.pointerApproachingNow.clear();
+    }
+
+    private void notifyOfApproaching(Registration registration, boolean isPointerApproaching) {
+        try {
+            registration.mouseWatch.onPointerApproachingTouchArea(isPointerApproaching);
+        }
+        catch (Throwable t) {
+            log.error(t.getMessage(), t);
+        }
+    }
+
+    private void notifyOf(Registration registration, boolean isPointerInside) {
+        try {
+            registration.mouseWatch.onPointerInTouchArea(isPointerInside);
+        }
+        catch (Throwable t) {
+            log.error(t.getMessage(), t);
+        }
+    }
+}
@@ -3,30 +3,43 @@ package diarsid.desktop.ui.components.sidepane.impl;
 import java.util.function.DoubleConsumer;
 import java.util.function.DoubleSupplier;
 
-import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
 import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.SimpleDoubleProperty;
-import javafx.beans.value.ChangeListener;
+import javafx.animation.PauseTransition;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.util.Duration;
 
 import diarsid.desktop.ui.components.sidepane.api.Sidepane;
-import diarsid.support.objects.references.Possible;
-import diarsid.support.objects.references.References;
 
-import static javafx.animation.Animation.Status.RUNNING;
+import static java.lang.Math.abs;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Behavior.Type.SMOOTH;
 
+/*
+ * Uses one long-lived AnimationTimer for all shows and hides of a sidepane. On every frame the value is
+ * interpolated from the value the motion has begun with toward the actual shown or hidden value, so show and hide
+ * do not allocate anything and reversal of a running motion is done in place. Duration of a motion that does not
+ * begin from the opposite end is proportional to the remaining distance.
+ *
+ * Intervals between frames are measured against the frame budget. When the budget is exceeded the given number
+ * of times during one motion, the motion is finished immediately and animation is degraded - smooth show and hide
+ * are done instantly until degradation period is over. Degradation period is measured on JavaFX thread by
+ * a PauseTransition that is restarted on every degradation.
+ */
 public class ShowHideAnimation implements ShowHideBehavior {
 
+    private enum Motion {
+        NONE,
+        SHOWING,
+        HIDING
+    }
+
     private final Sidepane.Behavior.Show show;
     private final Sidepane.Behavior.Hide hide;
-    private final DoubleProperty mutableValue;
-    private final ChangeListener<? super Number> mutableValueListener;
     private final DoubleSupplier getHiddenValue;
     private final DoubleSupplier getShownValue;
     private final DoubleConsumer valueChange;
@@ -34,9 +47,19 @@ public class ShowHideAnimation implements ShowHideBehavior {
     private final Runnable onHidingFinished;
     private final Runnable onShowingBegins;
     private final Runnable onShowingFinished;
-
-    private final Possible<Animation> showing;
-    private final Possible<Animation> hiding;
+    private final AnimationTimer animator;
+    private final long frameBudgetNanos;
+    private final int exceedsToDegrade;
+    private final PauseTransition recovery;
+    private final BooleanProperty degraded;
+
+    private Motion motion;
+    private double value;
+    private double fromValue;
+    private long durationNanos;
+    private long startNanos;
+    private long lastFrameNanos;
+    private int budgetExceeds;
 
     public ShowHideAnimation(
             Sidepane.Behavior.Show show,
@@ -47,7 +70,10 @@ public class ShowHideAnimation implements ShowHideBehavior {
             Runnable onHidingBegins,
             Runnable onHidingFinished,
             Runnable onShowingBegins,
-            Runnable onShowingFinished) {
+            Runnable onShowingFinished,
+            long frameBudgetMillis,
+            int exceedsToDegrade,
+            long degradationMillis) {
         this.show = show;
         this.hide = hide;
         this.getHiddenValue = getHiddenValue;
@@ -58,222 +84,214 @@ public class ShowHideAnimation implements ShowHideBehavior {
         this.onShowingBegins = onShowingBegins;
         this.onShowingFinished = onShowingFinished;
 
-        this.mutableValue = new SimpleDoubleProperty(this.getHiddenValue.getAsDouble());
-        this.mutableValueListener = (prop, oldV, newV) -> {
-            this.valueChange.accept(newV.doubleValue());
+        this.animator = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                ShowHideAnimation.this.onFrame(now);
+            }
         };
 
-        this.showing = References.simplePossibleButEmpty();
-        this.hiding = References.simplePossibleButEmpty();
+        this.frameBudgetNanos = MILLISECONDS.toNanos(frameBudgetMillis);
+        this.exceedsToDegrade = exceedsToDegrade;
+        this.degraded = new SimpleBooleanProperty(false);
+        this.recovery = new PauseTransition(Duration.millis(degradationMillis));
+        this.recovery.setOnFinished(event -> {
+            this.degraded.set(false);
+        });
+
+        this.motion = Motion.NONE;
+        this.value = this.getHiddenValue.getAsDouble();
     }
 
     private void showInstantly() {
-        double targetValue = this.getShownValue.getAsDouble();
-        this.valueChange.accept(targetValue);
+        this.stop();
+        this.value = this.getShownValue.getAsDouble();
+        this.valueChange.accept(this.value);
         this.onShowingFinished.run();
     }
 
     private void hideInstantly() {
-        double targetValue = this.getHiddenValue.getAsDouble();
-        this.valueChange.accept(targetValue);
+        this.stop();
+        this.value = this.getHiddenValue.getAsDouble();
+        this.valueChange.accept(this.value);
         this.onHidingFinished.run();
     }
 
     @Override
     public void show() {
-        if ( this.show.is(SMOOTH) && this.isShowingNow() ) {
+        if ( this.motion == Motion.SHOWING ) {
             return;
         }
 
-        if ( this.hide.is(SMOOTH) && this.isHidingNow() ) {
-            this.stopHiding();
-            if ( this.show.is(SMOOTH) ) {
-                this.beginShowingFromLastHidingValue();
+        this.onShowingBegins.run();
+        if ( this.isSmoothShow() ) {
+            if ( this.motion == Motion.HIDING ) {
+                this.begin(Motion.SHOWING, this.value);
             }
             else {
-                this.showInstantly();
+                this.begin(Motion.SHOWING, this.getHiddenValue.getAsDouble());
             }
         }
         else {
-            this.onShowingBegins.run();
-            if ( this.show.is(SMOOTH) ) {
-                this.beginShowingFromStart();
-            }
-            else {
-                this.showInstantly();
-            }
+            this.showInstantly();
         }
     }
 
     @Override
     public void hide() {
-        if ( this.hide.is(SMOOTH) && this.isHidingNow() ) {
+        if ( this.motion == Motion.HIDING ) {
             return;
         }
 
-        if ( this.show.is(SMOOTH) && this.isShowingNow() ) {
-            this.stopShowing();
-            if ( this.hide.is(SMOOTH) ) {
-                this.beginHidingFromLastShowingValue();
+        this.onHidingBegins.run();
+        if ( this.isSmoothHide() ) {
+            if ( this.motion == Motion.SHOWING ) {
+                this.begin(Motion.HIDING, this.value);
             }
             else {
-                this.hideInstantly();
+                this.begin(Motion.HIDING, this.getShownValue.getAsDouble());
             }
         }
         else {
-            this.onHidingBegins.run();
-            if ( this.hide.is(SMOOTH) ) {
-                this.beginHidingFromStart();
-            }
-            else {
-                this.hideInstantly();
-            }
+            this.hideInstantly();
         }
     }
 
-    public boolean isMovingNow() {
-        return this.isShowingNow() || this.isHidingNow();
-    }
-
-    private boolean isShowingNow() {
-        Animation showingNow = this.showing.or(null);
-        if ( showingNow == null ) {
-            return false;
-        }
-        else {
-            return showingNow.getStatus() == RUNNING;
+    @Override
+    public void retarget(boolean fromStart) {
+        switch ( this.motion ) {
+            case SHOWING:
+                this.begin(Motion.SHOWING, fromStart ? this.getHiddenValue.getAsDouble() : this.value);
+                break;
+            case HIDING:
+                this.begin(Motion.HIDING, fromStart ? this.getShownValue.getAsDouble() : this.value);
+                break;
+            default:
+                return;
         }
-    }
 
-    private boolean isHidingNow() {
-        Animation hidingNow = this.hiding.or(null);
-        if ( hidingNow == null ) {
-            return false;
-        }
-        else {
-            return hidingNow.getStatus() == RUNNING;
-        }
+        this.valueChange.accept(this.value);
     }
 
-    private void stopShowing() {
-        Animation showingNow = this.showing.or(null);
-
-        if ( showingNow == null ) {
-            return;
-        }
-
-        showingNow.stop();
-        this.mutableValue.removeListener(this.mutableValueListener);
-        this.showing.nullify();
+    @Override
+    public boolean isSmoothShow() {
+        return this.show.is(SMOOTH) && ! this.degraded.get();
     }
 
-    private void stopHiding() {
-        Animation hidingNow = this.hiding.or(null);
-
-        if ( hidingNow == null ) {
-            return;
-        }
-
-        hidingNow.stop();
-        this.mutableValue.removeListener(this.mutableValueListener);
-        this.showing.nullify();
+    @Override
+    public boolean isSmoothHide() {
+        return this.hide.is(SMOOTH) && ! this.degraded.get();
     }
 
-    private void beginShowingFromStart() {
-        Timeline newShowing = new Timeline();
-        Duration duration = Duration.seconds(this.show.seconds);
-
-        double initialValue = this.getHiddenValue.getAsDouble();
-        double targetValue = this.getShownValue.getAsDouble();
-
-        this.mutableValue.set(initialValue);
-
-        Interpolator interpolator = Interpolator.EASE_IN;
-
-        KeyValue key = new KeyValue(this.mutableValue, targetValue, interpolator);
-        KeyFrame finalPosition = new KeyFrame(duration, key);
-        newShowing.getKeyFrames().add(finalPosition);
-
-        newShowing.setOnFinished(event -> {
-            this.onShowingFinished.run();
-            this.mutableValue.removeListener(this.mutableValueListener);
-            this.showing.nullify();
-        });
-
-        this.mutableValue.addListener(this.mutableValueListener);
-        this.showing.resetTo(newShowing);
-        newShowing.playFromStart();
+    public boolean isMovingNow() {
+        return this.motion != Motion.NONE;
     }
 
-    private void beginShowingFromLastHidingValue() {
-        Timeline newShowing = new Timeline();
-        Duration duration = Duration.seconds(this.show.seconds / 2);
-
-        double targetValue = this.getShownValue.getAsDouble();
+    @Override
+    public ReadOnlyBooleanProperty degraded() {
+        return this.degraded;
+    }
 
-        Interpolator interpolator = Interpolator.EASE_IN;
+    private void begin(Motion motion, double fromValue) {
+        double shownValue = this.getShownValue.getAsDouble();
+        double hiddenValue = this.getHiddenValue.getAsDouble();
+        double fullDistance = abs(shownValue - hiddenValue);
 
-        KeyValue key = new KeyValue(this.mutableValue, targetValue, interpolator);
-        KeyFrame finalPosition = new KeyFrame(duration, key);
-        newShowing.getKeyFrames().add(finalPosition);
+        double targetValue;
+        double fullSeconds;
+        if ( motion == Motion.SHOWING ) {
+            targetValue = shownValue;
+            fullSeconds = this.show.seconds;
+        }
+        else {
+            targetValue = hiddenValue;
+            fullSeconds = this.hide.seconds;
+        }
 
-        newShowing.setOnFinished(event -> {
-            this.onShowingFinished.run();
-            this.mutableValue.removeListener(this.mutableValueListener);
-            this.showing.nullify();
-        });
+        double distancePart;
+        if ( fullDistance == 0 ) {
+            distancePart = 1;
+        }
+        else {
+            distancePart = min(1, abs(targetValue - fromValue) / fullDistance);
+        }
 
-        this.mutableValue.addListener(this.mutableValueListener);
-        this.showing.resetTo(newShowing);
-        newShowing.playFromStart();
+        this.motion = motion;
+        this.value = fromValue;
+        this.fromValue = fromValue;
+        this.durationNanos = (long) (fullSeconds * distancePart * 1_000_000_000);
+        this.startNanos = -1;
+        this.lastFrameNanos = -1;
+        this.budgetExceeds = 0;
+        this.animator.start();
     }
 
-    private void beginHidingFromStart() {
-        Timeline newHiding = new Timeline();
-        Duration duration = Duration.seconds(this.hide.seconds);
-
-        double initialValue = this.getShownValue.getAsDouble();
-        double targetValue = this.getHiddenValue.getAsDouble();
-
-        this.mutableValue.set(initialValue);
+    private void onFrame(long now) {
+        if ( this.startNanos < 0 ) {
+            this.startNanos = now;
+        }
 
-        Interpolator interpolator = Interpolator.EASE_OUT;
+        double fraction;
+        if ( this.durationNanos <= 0 ) {
+            fraction = 1;
+        }
+        else {
+            fraction = min(1, (now - this.startNanos) / (double) this.durationNanos);
+        }
 
-        KeyValue key = new KeyValue(this.mutableValue, targetValue, interpolator);
-        KeyFrame finalPosition = new KeyFrame(duration, key);
-        newHiding.getKeyFrames().add(finalPosition);
+        if ( this.isFrameBudgetExceeded(now) ) {
+            this.budgetExceeds++;
+            if ( this.budgetExceeds >= this.exceedsToDegrade ) {
+                this.degrade();
+                fraction = 1;
+            }
+        }
+        this.lastFrameNanos = now;
+
+        Motion currentMotion = this.motion;
+        double targetValue;
+        Interpolator interpolator;
+        switch ( currentMotion ) {
+            case SHOWING:
+                targetValue = this.getShownValue.getAsDouble();
+                interpolator = Interpolator.EASE_IN;
+                break;
+            case HIDING:
+                targetValue = this.getHiddenValue.getAsDouble();
+                interpolator = Interpolator.EASE_OUT;
+                break;
+            default:
+                this.animator.stop();
+                return;
+        }
 
-        newHiding.setOnFinished(event -> {
-            this.onHidingFinished.run();
-            this.mutableValue.removeListener(this.mutableValueListener);
-            this.hiding.nullify();
-        });
+        this.value = interpolator.interpolate(this.fromValue, targetValue, fraction);
+        this.valueChange.accept(this.value);
 
-        this.mutableValue.addListener(this.mutableValueListener);
-        this.hiding.resetTo(newHiding);
-        newHiding.playFromStart();
+        if ( fraction >= 1 ) {
+            this.stop();
+            if ( currentMotion == Motion.SHOWING ) {
+                this.onShowingFinished.run();
+            }
+            else {
+                this.onHidingFinished.run();
+            }
+        }
     }
 
-    private void beginHidingFromLastShowingValue() {
-        Timeline newHiding = new Timeline();
-        Duration duration = Duration.seconds(this.hide.seconds);
-
-        double targetValue = this.getHiddenValue.getAsDouble();
-
-        Interpolator interpolator = Interpolator.EASE_OUT;
-
-        KeyValue key = new KeyValue(this.mutableValue, targetValue, interpolator);
-        KeyFrame finalPosition = new KeyFrame(duration, key);
-        newHiding.getKeyFrames().add(finalPosition);
+    private boolean isFrameBudgetExceeded(long now) {
+        return this.frameBudgetNanos > 0
+                && this.lastFrameNanos > -1
+                && now - this.lastFrameNanos > this.frameBudgetNanos;
+    }
 
-        newHiding.setOnFinished(event -> {
-            this.onHidingFinished.run();
-            this.mutableValue.removeListener(this.mutableValueListener);
-            this.hiding.nullify();
-        });
+    private void degrade() {
+        this.degraded.set(true);
+        this.recovery.playFromStart();
+    }
 
-        this.mutableValue.addListener(this.mutableValueListener);
-        this.hiding.resetTo(newHiding);
-        newHiding.playFromStart();
+    private void stop() {
+        this.animator.stop();
+        this.motion = Motion.NONE;
     }
 }
@@ -1,8 +1,29 @@
 package diarsid.desktop.ui.components.sidepane.impl;
 
+import javafx.beans.property.ReadOnlyBooleanProperty;
+
 public interface ShowHideBehavior {
 
     void show();
 
     void hide();
+
+    /*
+     * Makes running show or hide to continue toward actual shown or hidden coordinate, if they have
+     * changed since it began. If fromStart is true, running show or hide begins again from its initial
+     * coordinate, e.g. when the side has been changed and the current coordinate is not relevant anymore.
+     */
+    void retarget(boolean fromStart);
+
+    /*
+     * Is show or hide that begins now going to be smooth - it is configured as smooth and is not degraded.
+     */
+    boolean isSmoothShow();
+
+    boolean isSmoothHide();
+
+    /*
+     * Is true while smooth show and hide are done instantly because animation frames have missed their budget.
+     */
+    ReadOnlyBooleanProperty degraded();
 }
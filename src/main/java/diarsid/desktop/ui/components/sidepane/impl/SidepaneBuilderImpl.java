@@ -11,8 +11,10 @@ import diarsid.files.objects.InFile;
 import diarsid.support.concurrency.threads.NamedThreadSource;
 import diarsid.support.javafx.PlatformActions;
 
-import static java.util.Objects.isNull;
-
+import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Behavior.Animation.MOVE_STAGE;
+import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Behavior.ContentCaching.CACHE_HINT;
+import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Behavior.HiddenContent.INVISIBLE;
+import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Control.Overflow.MERGE;
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Position.Relative.TOP_CENTER;
 
 public class SidepaneBuilderImpl<T> implements Sidepane.Builder<T> {
@@ -26,7 +28,19 @@ public class SidepaneBuilderImpl<T> implements Sidepane.Builder<T> {
     private Sidepane.Content.View<T> view;
     private Sidepane.Behavior.Show show;
     private Sidepane.Behavior.Hide hide;
+    private Sidepane.Behavior.Animation animation;
+    private Sidepane.Behavior.ContentCaching contentCaching;
+    private Sidepane.Behavior.HiddenContent hiddenContent;
+    private long frameBudgetMillis;
+    private int exceedsToDegrade;
+    private long degradationMillis;
     private MouseWatcher mouseWatcher;
+    private int queuedActionsCapacity;
+    private Sidepane.Control.Overflow queuedActionsOverflow;
+    private long showPredictionHorizonMillis;
+    private long entryDwellMillis;
+    private long exitGraceMillis;
+    private long cooldownAfterHideMillis;
 
     public SidepaneBuilderImpl() {
         this.name = Sidepane.class.getSimpleName() + "." + ProcessHandle.current().pid();
@@ -36,7 +50,19 @@ public class SidepaneBuilderImpl<T> implements Sidepane.Builder<T> {
         this.namedThreadSource = null;
         this.show = Sidepane.Behavior.Show.seconds(0.15);
         this.hide = Sidepane.Behavior.Hide.seconds(0.15);
+        this.animation = MOVE_STAGE;
+        this.contentCaching = CACHE_HINT;
+        this.hiddenContent = INVISIBLE;
+        this.frameBudgetMillis = 40;
+        this.exceedsToDegrade = 3;
+        this.degradationMillis = 5000;
         this.mouseWatcher = null;
+        this.queuedActionsCapacity = 10;
+        this.queuedActionsOverflow = MERGE;
+        this.showPredictionHorizonMillis = 0;
+        this.entryDwellMillis = 0;
+        this.exitGraceMillis = 0;
+        this.cooldownAfterHideMillis = 0;
     }
 
     @Override
@@ -93,6 +119,39 @@ public class SidepaneBuilderImpl<T> implements Sidepane.Builder<T> {
         return this;
     }
 
+    @Override
+    public Sidepane.Builder<T> animation(Sidepane.Behavior.Animation animation) {
+        this.animation = animation;
+        return this;
+    }
+
+    @Override
+    public Sidepane.Builder<T> contentCaching(Sidepane.Behavior.ContentCaching contentCaching) {
+        this.contentCaching = contentCaching;
+        return this;
+    }
+
+    @Override
+    public Sidepane.Builder<T> hiddenContent(Sidepane.Behavior.HiddenContent hiddenContent) {
+        this.hiddenContent = hiddenContent;
+        return this;
+    }
+
+    @Override
+    public Sidepane.Builder<T> animationFrameBudget(
+            long frameBudgetMillis, int exceedsToDegrade, long degradationMillis) {
+        if ( frameBudgetMillis < 0 || degradationMillis < 0 ) {
+            throw new IllegalArgumentException("Frame budget and degradation must not be negative!");
+        }
+        if ( exceedsToDegrade < 1 ) {
+            throw new IllegalArgumentException("Exceeds to degrade must be positive!");
+        }
+        this.frameBudgetMillis = frameBudgetMillis;
+        this.exceedsToDegrade = exceedsToDegrade;
+        this.degradationMillis = degradationMillis;
+        return this;
+    }
+
     @Override
     public Sidepane.Builder<T> mouseWatcher(MouseWatcher mouseWatcher) {
         this.mouseWatcher = mouseWatcher;
@@ -100,12 +159,37 @@ public class SidepaneBuilderImpl<T> implements Sidepane.Builder<T> {
     }
 
     @Override
-    public Sidepane<T> done() {
-        boolean needStartMouseWatcher = false;
-        if ( isNull(this.mouseWatcher) ) {
-            this.mouseWatcher = new MouseWatcher(10);
-            needStartMouseWatcher = true;
+    public Sidepane.Builder<T> queuedActions(int capacity, Sidepane.Control.Overflow overflow) {
+        this.queuedActionsCapacity = capacity;
+        this.queuedActionsOverflow = overflow;
+        return this;
+    }
+
+    @Override
+    public Sidepane.Builder<T> showPrediction(long horizonMillis) {
+        if ( horizonMillis < 0 ) {
+            throw new IllegalArgumentException("Horizon must not be negative!");
+        }
+        this.showPredictionHorizonMillis = horizonMillis;
+        return this;
+    }
+
+    @Override
+    public Sidepane.Builder<T> touchHysteresis(
+            long entryDwellMillis, long exitGraceMillis, long cooldownAfterHideMillis) {
+        if ( entryDwellMillis < 0 || exitGraceMillis < 0 || cooldownAfterHideMillis < 0 ) {
+            throw new IllegalArgumentException("Hysteresis millis must not be negative!");
         }
+        this.entryDwellMillis = entryDwellMillis;
+        this.exitGraceMillis = exitGraceMillis;
+        this.cooldownAfterHideMillis = cooldownAfterHideMillis;
+        return this;
+    }
+
+    @Override
+    public Sidepane<T> done() {
+        SidepaneTouchHysteresis touchHysteresis = new SidepaneTouchHysteresis(
+                this.entryDwellMillis, this.exitGraceMillis, this.cooldownAfterHideMillis);
 
         SidepaneImpl<T> sidebar;
         if ( this.saveState ) {
@@ -160,7 +244,17 @@ public class SidepaneBuilderImpl<T> implements Sidepane.Builder<T> {
                         view,
                         show,
                         hide,
-                        mouseWatcher);
+                        animation,
+                        contentCaching,
+                        hiddenContent,
+                        frameBudgetMillis,
+                        exceedsToDegrade,
+                        degradationMillis,
+                        mouseWatcher,
+                        queuedActionsCapacity,
+                        queuedActionsOverflow,
+                        showPredictionHorizonMillis,
+                        touchHysteresis);
             });
 
             sidebar.position().addListener((prop, oldPosition, newPosition) -> {
@@ -185,14 +279,20 @@ public class SidepaneBuilderImpl<T> implements Sidepane.Builder<T> {
                         view,
                         show,
                         hide,
-                        mouseWatcher);
+                        animation,
+                        contentCaching,
+                        hiddenContent,
+                        frameBudgetMillis,
+                        exceedsToDegrade,
+                        degradationMillis,
+                        mouseWatcher,
+                        queuedActionsCapacity,
+                        queuedActionsOverflow,
+                        showPredictionHorizonMillis,
+                        touchHysteresis);
             });
         }
 
-        if ( needStartMouseWatcher ) {
-            this.mouseWatcher.startWork();
-        }
-
         return sidebar;
     }
 }
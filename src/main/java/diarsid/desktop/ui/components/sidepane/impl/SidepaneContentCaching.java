@@ -0,0 +1,121 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import javafx.geometry.Bounds;
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import diarsid.desktop.ui.components.sidepane.api.Sidepane;
+
+import static java.lang.Math.ceil;
+import static java.util.Objects.isNull;
+
+/*
+ * Caches sidepane content while it is shown or hidden, so that frame cost does not depend on content size.
+ *
+ * CACHE_HINT - content node is cached as a bitmap with CacheHint.SPEED.
+ * SNAPSHOT - content node is replaced by its snapshot in the container, live content is returned back when
+ * transition is over. Snapshot image is reused while content size is not changed.
+ */
+class SidepaneContentCaching {
+
+    private final Sidepane.Behavior.ContentCaching caching;
+    private final Pane container;
+    private final Node content;
+    private final ImageView snapshotView;
+    private final SnapshotParameters snapshotParameters;
+    private WritableImage snapshot;
+    private boolean isApplied;
+    private boolean wasCached;
+    private CacheHint previousCacheHint;
+
+    SidepaneContentCaching(Sidepane.Behavior.ContentCaching caching, Pane container, Node content) {
+        this.caching = caching;
+        this.container = container;
+        this.content = content;
+        this.snapshotView = new ImageView();
+        this.snapshotParameters = new SnapshotParameters();
+        this.snapshotParameters.setFill(Color.TRANSPARENT);
+        this.snapshot = null;
+        this.isApplied = false;
+    }
+
+    void apply() {
+        if ( this.isApplied ) {
+            return;
+        }
+
+        switch ( this.caching ) {
+            case NONE:
+                return;
+            case CACHE_HINT:
+                this.wasCached = this.content.isCache();
+                this.previousCacheHint = this.content.getCacheHint();
+                this.content.setCache(true);
+                this.content.setCacheHint(CacheHint.SPEED);
+                break;
+            case SNAPSHOT:
+                if ( ! this.replaceContentWithSnapshot() ) {
+                    return;
+                }
+                break;
+            default:
+                throw this.caching.unsupported();
+        }
+
+        this.isApplied = true;
+    }
+
+    void release() {
+        if ( ! this.isApplied ) {
+            return;
+        }
+
+        switch ( this.caching ) {
+            case CACHE_HINT:
+                this.content.setCache(this.wasCached);
+                this.content.setCacheHint(this.previousCacheHint);
+                break;
+            case SNAPSHOT:
+                int index = this.container.getChildren().indexOf(this.snapshotView);
+                if ( index > -1 ) {
+                    this.container.getChildren().set(index, this.content);
+                }
+                break;
+            default:
+                throw this.caching.unsupported();
+        }
+
+        this.isApplied = false;
+    }
+
+    private boolean replaceContentWithSnapshot() {
+        int index = this.container.getChildren().indexOf(this.content);
+        if ( index < 0 ) {
+            return false;
+        }
+
+        Bounds bounds = this.content.getLayoutBounds();
+        int width = (int) ceil(bounds.getWidth());
+        int height = (int) ceil(bounds.getHeight());
+        if ( width < 1 || height < 1 ) {
+            return false;
+        }
+
+        if ( isNull(this.snapshot)
+                || (int) this.snapshot.getWidth() != width
+                || (int) this.snapshot.getHeight() != height ) {
+            this.snapshot = new WritableImage(width, height);
+        }
+
+        this.content.snapshot(this.snapshotParameters, this.snapshot);
+        this.snapshotView.setImage(this.snapshot);
+        this.container.getChildren().set(index, this.snapshotView);
+
+        return true;
+    }
+}
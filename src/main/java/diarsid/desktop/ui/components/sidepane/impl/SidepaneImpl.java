@@ -1,15 +1,10 @@
 package diarsid.desktop.ui.components.sidepane.impl;
 
-import java.awt.MouseInfo;
-import java.awt.Point;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.BrokenBarrierException;
-import java.util.concurrent.CyclicBarrier;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -17,10 +12,14 @@ import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
 import javafx.css.PseudoClass;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -37,9 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import diarsid.desktop.ui.components.sidepane.api.Sidepane;
-import diarsid.desktop.ui.components.sidepane.impl.areas.SidepaneAreaForTouch;
-import diarsid.desktop.ui.components.sidepane.impl.areas.SidepaneAreaWhenHidden;
-import diarsid.desktop.ui.components.sidepane.impl.areas.SidepaneAreaWhenShown;
+import diarsid.desktop.ui.components.sidepane.impl.areas.SidepaneGeometry;
 import diarsid.desktop.ui.components.sidepane.impl.contextmenu.SidebarContextMenu;
 import diarsid.desktop.ui.geometry.Anchor;
 import diarsid.desktop.ui.geometry.PointToSide;
@@ -47,13 +44,11 @@ import diarsid.desktop.ui.geometry.Rectangle;
 import diarsid.desktop.ui.geometry.Size;
 import diarsid.desktop.ui.mouse.watching.MouseWatcher;
 import diarsid.desktop.ui.mouse.watching.Watch;
-import diarsid.support.concurrency.BlockingPermission;
 import diarsid.support.concurrency.threads.NamedThreadSource;
 import diarsid.support.exceptions.UnsupportedLogicException;
 import diarsid.support.javafx.geometry.Screen;
 import diarsid.support.javafx.stage.HiddenStages;
 import diarsid.support.javafx.stage.StageMoving;
-import diarsid.support.objects.CommonEnum;
 
 import static java.lang.Math.min;
 import static java.lang.String.format;
@@ -63,16 +58,21 @@ import static java.util.Objects.nonNull;
 import static javafx.css.PseudoClass.getPseudoClass;
 import static javafx.scene.input.MouseEvent.MOUSE_PRESSED;
 
+import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Behavior.Animation.MOVE_STAGE;
+import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Behavior.HiddenContent.WARM;
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Behavior.Type.INSTANT;
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Session.Touch.Kind.MANUAL;
+import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Session.Touch.Kind.PREDICTED;
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Session.Touch.Kind.PROGRAMMATICAL;
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.State.IS_HIDDEN;
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.State.IS_HIDING;
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.State.IS_SHOWING;
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.State.IS_SHOWN;
-import static diarsid.desktop.ui.components.sidepane.impl.SidepaneImpl.NamedTypedSessionAction.Type.BLOCK;
-import static diarsid.desktop.ui.components.sidepane.impl.SidepaneImpl.NamedTypedSessionAction.Type.TOUCH_AND_BLOCK;
-import static diarsid.desktop.ui.components.sidepane.impl.SidepaneImpl.NamedTypedSessionAction.Type.UNBLOCK;
+import static diarsid.desktop.ui.components.sidepane.impl.NamedTypedSessionAction.Type.BLOCK;
+import static diarsid.desktop.ui.components.sidepane.impl.NamedTypedSessionAction.Type.TOUCH_AND_BLOCK;
+import static diarsid.desktop.ui.components.sidepane.impl.NamedTypedSessionAction.Type.UNBLOCK;
+import static diarsid.desktop.ui.components.sidepane.impl.SessionAction.Kind.TOUCH;
+import static diarsid.desktop.ui.components.sidepane.impl.SessionAction.Kind.UNBLOCK_ALL;
 import static diarsid.desktop.ui.geometry.Rectangle.Side.BOTTOM;
 import static diarsid.desktop.ui.geometry.Rectangle.Side.LEFT;
 import static diarsid.desktop.ui.geometry.Rectangle.Side.Orientation.VERTICAL;
@@ -94,6 +94,7 @@ public class SidepaneImpl<T> implements
 
     private static final String PROGRAMMATIC_INSTANT_MOVE = "PROGRAMMATIC_MOVE";
     private static final String ADJUSTMENT_MOVE = "ADJUSTMENT_MOVE";
+    private static final int MILLIS_TO_FINISH_SESSION = 500;
 
     private static final EnumMap<Side, Map<PseudoClass, Boolean>> PSEUDO_CLASS_ACTIVENESS_BY_SIDE;
     private static final PseudoClass CSS_LEFT = getPseudoClass(LEFT.name().toLowerCase());
@@ -148,24 +149,26 @@ public class SidepaneImpl<T> implements
     private final ObjectProperty<Rectangle.Side> side;
     private final SidepaneSession session;
 
-    private final SidepaneAreaForTouch touchArea;
-    private final SidepaneAreaWhenHidden hiddenArea;
-    private final SidepaneAreaWhenShown shownArea;
+    private final SidepaneGeometry geometry;
 
     private final SidebarContextMenu sidebarContextMenu;
 
     private final MouseWatcher mouseWatcher;
+    private final SharedPointerWatch.Registration sharedPointerWatch;
+    private final SidepaneTouchHysteresis touchHysteresis;
     private final SidepaneMouseWatch watch;
 
     private final ShowHideBehavior showHide;
+    private final Behavior.Animation animation;
+    private final SidepaneContentCaching contentCaching;
+    private final Behavior.HiddenContent hiddenContent;
 
-    private final BlockingQueue<QueuedAction> queuedActions;
-    private final BlockingPermission queueActionBlockingPermission;
-    private final ExecutorService asyncQueuedActions;
-    private final Future<?> asyncQueuedActionsProcessing;
+    private final QueuedActionsDispatcher queuedActions;
 
     private final IntegerProperty onTouchDelayMillis;
 
+    private boolean isResizeRequested;
+
     public SidepaneImpl(
             String name,
             Position position,
@@ -174,9 +177,22 @@ public class SidepaneImpl<T> implements
             View<T> view,
             Behavior.Show show,
             Behavior.Hide hide,
-            MouseWatcher mouseWatcher) {
+            Behavior.Animation animation,
+            Behavior.ContentCaching contentCaching,
+            Behavior.HiddenContent hiddenContent,
+            long frameBudgetMillis,
+            int exceedsToDegrade,
+            long degradationMillis,
+            MouseWatcher mouseWatcher,
+            int queuedActionsCapacity,
+            Control.Overflow queuedActionsOverflow,
+            long showPredictionHorizonMillis,
+            SidepaneTouchHysteresis touchHysteresis) {
 
         this.name = name;
+        this.touchHysteresis = touchHysteresis;
+        this.animation = animation;
+        this.hiddenContent = hiddenContent;
         this.state = new SimpleObjectProperty<>();
         this.isPinned = isPinned;
 
@@ -208,6 +224,8 @@ public class SidepaneImpl<T> implements
         this.sidebarMargin.getStyleClass().add("sidepane-margin");
         this.sidebarMargin.setAlignment(Pos.CENTER);
 
+        this.contentCaching = new SidepaneContentCaching(contentCaching, this.sidebarMargin, this.sidebar);
+
         this.position = new SimpleObjectProperty<>();
         this.relative = new SimpleObjectProperty<>(null);
 
@@ -228,8 +246,17 @@ public class SidepaneImpl<T> implements
         this.sidebarContextMenu.setOnShowing(this::blockSessionByContextMenu);
         this.sidebarContextMenu.setOnHiding(this::unblockSessionByContextMenu);
 
+        /*
+         * resize requests are coalesced and performed at most once per pulse, after layout has settled item sizes
+         */
+        this.isResizeRequested = false;
         Runnable invokeResize = () -> {
-            Platform.runLater(() -> this.adjustSizeAndPositioningAfterStageChange("RESIZE"));
+            if ( Platform.isFxApplicationThread() ) {
+                this.requestResize();
+            }
+            else {
+                Platform.runLater(this::requestResize);
+            }
         };
 
         Runnable hideContextMenu = this.sidebarContextMenu::hide;
@@ -248,16 +275,20 @@ public class SidepaneImpl<T> implements
 
         this.session = new SidepaneSession(
                 this.name,
-                500,
-                namedThreadSource,
+                MILLIS_TO_FINISH_SESSION,
                 (touchKind) -> this.showSidebar(),
                 this::tryHideSidebar,
-                this::canFinishSession);
+                this::millisBeforeSessionFinish);
 
         this.sidebar.setOnMouseEntered(event -> {
+            this.touchHysteresis.pointerEntered();
             this.session.touch(MANUAL);
         });
 
+        this.sidebar.setOnMouseExited(event -> {
+            this.touchHysteresis.pointerLeft();
+        });
+
         this.sidebar.setOnMouseMoved(event -> {
             this.session.touch(MANUAL);
         });
@@ -266,6 +297,7 @@ public class SidepaneImpl<T> implements
 
         scene.setFill(Color.TRANSPARENT);
         scene.getStylesheets().add("file:./sidepane.css");
+        scene.addPostLayoutPulseListener(this::resizeIfRequested);
 
         this.stageMoving = new StageMoving(this.stage);
 
@@ -348,15 +380,20 @@ public class SidepaneImpl<T> implements
         this.stage.setScene(scene);
         this.stage.sizeToScene();
 
-//        this.stage.setX(this.hiddenArea.x.get());
-//        this.stage.setY(this.hiddenArea.y.get());
-
         this.stage.show();
 
         Runnable manualTouchSession = () -> {
             this.session.touch(MANUAL);
         };
 
+        Runnable predictedTouchSession = () -> {
+            this.session.touch(PREDICTED);
+        };
+
+        Runnable cancelPredictedSession = () -> {
+            this.session.cancelPredicted();
+        };
+
         double coordinate;
         if ( position instanceof Position.Absolute) {
             coordinate = calculateShownCoordinateOf(this.side.get(), ((Position.Absolute) position).coordinate());
@@ -393,112 +430,65 @@ public class SidepaneImpl<T> implements
                 throw this.side.get().unsupported();
         }
 
-        this.hiddenArea = new SidepaneAreaWhenHidden(this.screen, this.stage, this.side);
-        this.touchArea = new SidepaneAreaForTouch(this.screen, this.stage, this.side);
-        this.shownArea = new SidepaneAreaWhenShown(this.screen, this.stage, this.side);
+        this.geometry = new SidepaneGeometry(this.screen, this.stage, scene, this.side);
 
         this.onTouchDelayMillis = new SimpleIntegerProperty(0);
 
         this.watch = new SidepaneMouseWatch(
-                this.name, this.touchArea, manualTouchSession, namedThreadSource, this.onTouchDelayMillis);
-
-        CyclicBarrier actionOnPlatformExecution = new CyclicBarrier(2);
-        this.queuedActions = new ArrayBlockingQueue<>(10, true);
-
-        this.queueActionBlockingPermission = new BlockingPermission();
-
-        this.asyncQueuedActions = namedThreadSource.newNamedFixedThreadPool(
-                this.getClass().getCanonicalName() + "[" + name + "].queuedActions",
-                1);
-
-        Runnable processQueuedActionsInLoop = () -> {
-            while ( true ) {
-                try {
-                    QueuedAction queuedAction = this.queuedActions.take();
-                    this.queueActionBlockingPermission.awaitIfForbidden();
-                    Platform.runLater(() -> {
-                        try {
-                            this.process(queuedAction);
-                        }
-                        finally {
-                            try {
-                                actionOnPlatformExecution.await();
-                            }
-                            catch (InterruptedException | BrokenBarrierException e) {
-                                log.error("interrupted", e);
-                            }
-                        }
-                    });
-                }
-                catch (Throwable t) {
-                    log.error(t.getMessage(), t);
-                }
-
-                try {
-                    actionOnPlatformExecution.await();
-                }
-                catch (InterruptedException | BrokenBarrierException e) {
-                    log.error("interrupted", e);
-                }
-
-                actionOnPlatformExecution.reset();
-            }
-        };
+                this.name,
+                this.geometry,
+                manualTouchSession,
+                predictedTouchSession,
+                cancelPredictedSession,
+                namedThreadSource,
+                this.onTouchDelayMillis,
+                this.touchHysteresis);
 
-        this.asyncQueuedActionsProcessing = this.asyncQueuedActions.submit(processQueuedActionsInLoop);
+        this.queuedActions = new QueuedActionsDispatcher(
+                this.name,
+                queuedActionsCapacity,
+                queuedActionsOverflow,
+                scene,
+                this::process);
 
         this.showHide = new ShowHideAnimation(
                 show,
                 hide,
-                /* get hidden coordinate */ () -> {
-                    if ( this.side.get().orientation.is(VERTICAL) ) {
-                        return this.hiddenArea.anchor().x();
-                    }
-                    else {
-                        return this.hiddenArea.anchor().y();
-                    }
-                },
-                /* get shown coordinate */ () -> {
-                    if ( this.side.get().orientation.is(VERTICAL) ) {
-                        return this.shownArea.anchor().x();
-                    }
-                    else {
-                        return this.shownArea.anchor().y();
-                    }
-                },
-                /* accept mutated coordinate */ (newValue) -> {
-                    if ( this.side.get().orientation.is(VERTICAL) ) {
-                        this.stage.setX(newValue);
-                    }
-                    else {
-                        this.stage.setY(newValue);
-                    }
-                },
+                /* get hidden coordinate */ this::hiddenCoordinate,
+                /* get shown coordinate */ this::shownCoordinate,
+                /* accept mutated coordinate */ this::applyAnimatedCoordinate,
                 /* on hiding begins */ () -> {
-                    this.queueActionBlockingPermission.forbid();
                     this.stageMoving.isMovable().set(false);
                     this.state.set(IS_HIDING);
+                    this.applyContentCachingIfSmooth(IS_HIDING);
                 },
                 /* on hiding finished */ () -> {
-                    this.queueActionBlockingPermission.allow();
+                    this.contentCaching.release();
+                    this.unparkSlidingContent();
                     this.stageMoving.isMovable().set(true);
                     this.state.set(IS_HIDDEN);
-                    this.sidebar.setVisible(false);
-                    Platform.requestNextPulse();
+                    this.touchHysteresis.hidden();
+                    if ( ! this.hiddenContent.is(WARM) ) {
+                        this.sidebar.setVisible(false);
+                        Platform.requestNextPulse();
+                    }
                 },
                 /* on showing begins */ () -> {
-                    this.queueActionBlockingPermission.forbid();
                     this.stageMoving.isMovable().set(false);
                     this.state.set(IS_SHOWING);
+                    this.applyContentCachingIfSmooth(IS_SHOWING);
                 },
                 /* on showing finished */ () -> {
-                    this.queueActionBlockingPermission.allow();
+                    this.contentCaching.release();
                     this.stageMoving.isMovable().set(true);
                     this.state.set(IS_SHOWN);
-                });
+                },
+                frameBudgetMillis,
+                exceedsToDegrade,
+                degradationMillis);
 
-        this.stage.setX(this.hiddenArea.anchor().x());
-        this.stage.setY(this.hiddenArea.anchor().y());
+        this.stage.setX(this.geometry.hidden().x());
+        this.stage.setY(this.geometry.hidden().y());
 
         this.state.set(IS_HIDDEN);
 
@@ -512,8 +502,18 @@ public class SidepaneImpl<T> implements
 
         this.session.touchAndBlock(PROGRAMMATICAL, "INITIAL_SHOW", initialTouchMillis);
 
+        /*
+         * custom MouseWatcher is used as is, otherwise sidepane is watched by process-wide pointer watch
+         */
         this.mouseWatcher = mouseWatcher;
-        this.mouseWatcher.add(this);
+        if ( nonNull(this.mouseWatcher) ) {
+            this.mouseWatcher.add(this);
+            this.sharedPointerWatch = null;
+        }
+        else {
+            this.sharedPointerWatch = SharedPointerWatch.shared().add(
+                    this.watch, this.geometry, this.side, this.session::isActive, showPredictionHorizonMillis);
+        }
     }
 
     private void blockSessionByContextMenu(WindowEvent event) {
@@ -863,7 +863,15 @@ public class SidepaneImpl<T> implements
                 });
     }
 
+    /*
+     * In WARM mode content is kept visible and the window is kept sized to it by resize and content change
+     * adjustments, so nothing has to be laid out before animation.
+     */
     private void showSidebar() {
+        if ( this.hiddenContent.is(WARM) ) {
+            this.showHide.show();
+            return;
+        }
         this.sidebar.setVisible(true);
         this.stage.sizeToScene();
         this.showHide.show();
@@ -881,25 +889,137 @@ public class SidepaneImpl<T> implements
     private void hideSidebar() {
         Platform.requestNextPulse();
         this.sidebarContextMenu.hide();
-        this.stage.sizeToScene();
+        if ( ! this.hiddenContent.is(WARM) ) {
+            this.stage.sizeToScene();
+        }
         this.showHide.hide();
     }
 
-    private boolean canFinishSession() {
+    private double hiddenCoordinate() {
+        if ( this.side.get().orientation.is(VERTICAL) ) {
+            return this.geometry.hidden().x();
+        }
+        else {
+            return this.geometry.hidden().y();
+        }
+    }
+
+    private double shownCoordinate() {
+        if ( this.side.get().orientation.is(VERTICAL) ) {
+            return this.geometry.shown().x();
+        }
+        else {
+            return this.geometry.shown().y();
+        }
+    }
+
+    private void setStageCoordinate(double coordinate) {
+        if ( this.side.get().orientation.is(VERTICAL) ) {
+            this.stage.setX(coordinate);
+        }
+        else {
+            this.stage.setY(coordinate);
+        }
+    }
+
+    private double stageCoordinate() {
+        if ( this.side.get().orientation.is(VERTICAL) ) {
+            return this.stage.getX();
+        }
+        else {
+            return this.stage.getY();
+        }
+    }
+
+    /*
+     * In SLIDE_CONTENT mode the stage is parked at shown coordinate while it is animated, and only
+     * sidebarMargin is translated toward animated coordinate. The window is clipping translated content.
+     */
+    private void applyAnimatedCoordinate(double coordinate) {
+        if ( this.animation.is(MOVE_STAGE) ) {
+            this.setStageCoordinate(coordinate);
+            return;
+        }
+
+        double shownCoordinate = this.shownCoordinate();
+        if ( this.stageCoordinate() != shownCoordinate ) {
+            this.setStageCoordinate(shownCoordinate);
+        }
+
+        double translate = coordinate - shownCoordinate;
+        if ( this.side.get().orientation.is(VERTICAL) ) {
+            this.sidebarMargin.setTranslateX(translate);
+            this.sidebarMargin.setTranslateY(0);
+        }
+        else {
+            this.sidebarMargin.setTranslateX(0);
+            this.sidebarMargin.setTranslateY(translate);
+        }
+    }
+
+    private void unparkSlidingContent() {
+        if ( this.animation.is(MOVE_STAGE) ) {
+            return;
+        }
+
+        this.sidebarMargin.setTranslateX(0);
+        this.sidebarMargin.setTranslateY(0);
+        this.setStageCoordinate(this.hiddenCoordinate());
+    }
+
+    private PointerSample lastPointerSample() {
+        if ( nonNull(this.sharedPointerWatch) ) {
+            return SharedPointerWatch.shared().lastSample();
+        }
+        else {
+            return this.watch.lastSample();
+        }
+    }
+
+    /*
+     * Content is cached only for smooth motion, instant show or hide, e.g. when animation is degraded,
+     * is done within one frame and gains nothing from caching.
+     */
+    private void applyContentCachingIfSmooth(State beginningMotion) {
+        boolean isSmooth;
+        if ( beginningMotion.is(IS_SHOWING) ) {
+            isSmooth = this.showHide.isSmoothShow();
+        }
+        else {
+            isSmooth = this.showHide.isSmoothHide();
+        }
+
+        if ( isSmooth ) {
+            this.contentCaching.apply();
+        }
+    }
+
+    /*
+     * 0 if session can be finished now, otherwise millis after which it should be checked again.
+     */
+    private long millisBeforeSessionFinish() {
         double x = this.stage.getX();
         double y = this.stage.getY();
         double x2 = x + this.stage.getWidth();
         double y2 = y + this.stage.getHeight();
-        Point mouse = MouseInfo.getPointerInfo().getLocation();
-        double mX = mouse.getX();
-        double mY = mouse.getY();
+        PointerSample mouse = this.lastPointerSample();
+        if ( isNull(mouse) ) {
+            return 0;
+        }
+        double mX = mouse.x;
+        double mY = mouse.y;
 
         boolean isHover =
                 x <= mX && mX <= x2
                 &&
                 y <= mY && mY <= y2;
 
-        return ! isHover;
+        if ( isHover ) {
+            this.touchHysteresis.pointerEntered();
+            return MILLIS_TO_FINISH_SESSION;
+        }
+
+        return this.touchHysteresis.millisBeforeSessionFinish();
     }
 
     @Override
@@ -932,6 +1052,11 @@ public class SidepaneImpl<T> implements
         return this.state;
     }
 
+    @Override
+    public ReadOnlyBooleanProperty animationDegraded() {
+        return this.showHide.degraded();
+    }
+
     @Override
     public Control<T> control() {
         return this;
@@ -939,7 +1064,12 @@ public class SidepaneImpl<T> implements
 
     @Override
     public void close() {
+        this.queuedActions.dispose();
         this.session.dispose();
+        this.geometry.dispose();
+        if ( nonNull(this.sharedPointerWatch) ) {
+            SharedPointerWatch.shared().remove(this.sharedPointerWatch);
+        }
     }
 
     @Override
@@ -988,70 +1118,6 @@ public class SidepaneImpl<T> implements
         return this.onTouchDelayMillis.get() > 0;
     }
 
-    private static class SessionAction extends QueuedAction {
-
-        static final SessionAction TOUCH = new SessionAction();
-        static final SessionAction UNBLOCK_ALL = new SessionAction();
-    }
-
-    static class NamedTypedSessionAction extends SessionAction {
-
-        static enum Type implements CommonEnum<Type> {
-            TOUCH_AND_BLOCK,
-            BLOCK,
-            UNBLOCK;
-        }
-
-        final Type type;
-        final String name;
-        final long millisBlockToLive;
-
-        NamedTypedSessionAction(Type type, String name) {
-            this.type = type;
-            this.name = name;
-            this.millisBlockToLive = -1;
-        }
-
-        NamedTypedSessionAction(Type type, String name, long millisBlockToLive) {
-            this.type = type;
-            this.name = name;
-            this.millisBlockToLive = millisBlockToLive;
-        }
-    }
-
-    private static class ProgrammaticMove extends QueuedAction {
-
-        final Position.Relative relativePosition;
-        final Side to;
-        final double coordinate;
-
-        ProgrammaticMove(Side to, double coordinate) {
-            this.to = to;
-            this.coordinate = coordinate;
-            this.relativePosition = null;
-        }
-
-        ProgrammaticMove(double coordinate) {
-            this.to = null;
-            this.coordinate = coordinate;
-            this.relativePosition = null;
-        }
-
-        ProgrammaticMove(Position.Relative relativePosition) {
-            this.coordinate = Double.MIN_VALUE;
-            this.relativePosition = relativePosition;
-            this.to = relativePosition.side();
-        }
-
-        boolean sideIsSameAs(Side side) {
-            return isNull(this.to) || this.to.is(side);
-        }
-
-        boolean isRelative() {
-            return nonNull(this.relativePosition);
-        }
-    }
-
     @Override
     public void moveTo(Side offeredSide, double coordinateOnSide) {
         ProgrammaticMove programmaticMove = new ProgrammaticMove(offeredSide, coordinateOnSide);
@@ -1070,30 +1136,57 @@ public class SidepaneImpl<T> implements
         queueAction(programmaticMove);
     }
 
-    private void queueAction(QueuedAction queuedAction) {
-        System.out.println("queue");
-        try {
-            this.queuedActions.put(queuedAction);
-        }
-        catch (InterruptedException e) {
-            log.error(e.getMessage(), e);
-        }
+    @Override
+    public CompletionStage<Void> moveToAsync(Side offeredSide, double coordinateOnSide) {
+        ProgrammaticMove programmaticMove = new ProgrammaticMove(offeredSide, coordinateOnSide);
+        return queueAction(programmaticMove);
+    }
+
+    @Override
+    public CompletionStage<Void> moveToAsync(Position.Relative relativePosition) {
+        ProgrammaticMove programmaticMove = new ProgrammaticMove(relativePosition);
+        return queueAction(programmaticMove);
+    }
+
+    @Override
+    public CompletionStage<Void> moveToAsync(double coordinateOnCurrentSide) {
+        ProgrammaticMove programmaticMove = new ProgrammaticMove(coordinateOnCurrentSide);
+        return queueAction(programmaticMove);
+    }
+
+    private CompletionStage<Void> queueAction(QueuedAction queuedAction) {
+        this.queuedActions.queue(queuedAction);
+        return queuedAction.completion().minimalCompletionStage();
     }
 
     private void process(QueuedAction queuedAction) {
         if ( queuedAction instanceof ContentChange) {
-            this.view.adoptGivenChange(((ContentChange<T>) queuedAction).mutation);
-            this.sidebar.getChildren().setAll(this.view.node());
+            ContentChange<T> contentChange = (ContentChange<T>) queuedAction;
+            if ( contentChange.isDeltas() ) {
+                this.view.adoptGivenDeltas(contentChange.deltas);
+            }
+            else {
+                this.view.adoptGivenChange(contentChange.mutation);
+            }
+            ObservableList<Node> sidebarChildren = this.sidebar.getChildren();
+            if ( sidebarChildren.size() != 1 || sidebarChildren.get(0) != this.view.node() ) {
+                sidebarChildren.setAll(this.view.node());
+            }
 
             this.adjustSizeAndPositioningAfterStageChange("ITEMS CHANGE");
+            queuedAction.complete();
         }
         else if ( queuedAction instanceof ProgrammaticMove) {
             this.process((ProgrammaticMove) queuedAction);
         }
         else {
+            SessionAction sessionAction = (SessionAction) queuedAction;
+            boolean isTouch;
+
             if ( queuedAction instanceof NamedTypedSessionAction ) {
                 NamedTypedSessionAction namedSessionAction = (NamedTypedSessionAction) queuedAction;
                 String name = namedSessionAction.name;
+                isTouch = namedSessionAction.is(TOUCH_AND_BLOCK);
                 switch ( namedSessionAction.type ) {
                     case TOUCH_AND_BLOCK:
                         if ( namedSessionAction.millisBlockToLive > 0 ) {
@@ -1119,23 +1212,73 @@ public class SidepaneImpl<T> implements
                 }
             }
             else {
-                SessionAction sessionAction = (SessionAction) queuedAction;
-                if ( sessionAction == SessionAction.TOUCH ) {
-                    this.session.touch();
-                }
-                else if ( sessionAction == SessionAction.UNBLOCK_ALL ) {
-                    this.session.unblock();
+                isTouch = sessionAction.kind.is(TOUCH);
+                switch ( sessionAction.kind ) {
+                    case TOUCH:
+                        this.session.touch();
+                        break;
+                    case UNBLOCK_ALL:
+                        this.session.unblock();
+                        break;
+                    default:
+                        throw new UnsupportedLogicException(format("Unknown %s : %s",
+                                QueuedAction.class.getSimpleName(),
+                                queuedAction.toString()));
                 }
-                else {
-                    throw new UnsupportedLogicException(format("Unknown %s : %s",
-                            QueuedAction.class.getSimpleName(),
-                            queuedAction.toString()));
+            }
+
+            if ( isTouch ) {
+                this.completeWhenShownOrInactive(sessionAction);
+            }
+            else {
+                sessionAction.complete();
+            }
+        }
+    }
+
+    /*
+     * Session activation shows sidepane asynchronously, thus touch is considered completed when
+     * sidepane has stopped showing or when touch has not activated the session at all.
+     */
+    private void completeWhenShownOrInactive(QueuedAction touch) {
+        if ( this.state.get().is(IS_SHOWN) || ! this.session.isActive() ) {
+            touch.complete();
+            return;
+        }
+
+        ChangeListener<State> completeWhenNotShowing = new ChangeListener<>() {
+
+            @Override
+            public void changed(ObservableValue<? extends State> prop, State oldState, State newState) {
+                if ( newState.is(IS_SHOWING) ) {
+                    return;
                 }
+                prop.removeListener(this);
+                touch.complete();
             }
+        };
+
+        this.state.addListener(completeWhenNotShowing);
+    }
+
+    private void requestResize() {
+        if ( ! this.isResizeRequested ) {
+            this.isResizeRequested = true;
+            Platform.requestNextPulse();
+        }
+    }
+
+    private void resizeIfRequested() {
+        if ( this.isResizeRequested ) {
+            this.isResizeRequested = false;
+            this.adjustSizeAndPositioningAfterStageChange("RESIZE");
         }
     }
 
     private void adjustSizeAndPositioningAfterStageChange(String reason) {
+        final double existingWidth = this.stage.getWidth();
+        final double existingHeight = this.stage.getHeight();
+
         this.stage.sizeToScene();
 
         Position.Relative relativePosition = this.relative.get();
@@ -1248,21 +1391,29 @@ public class SidepaneImpl<T> implements
             }
         }
 
+        doMove = doMove && (x != existingX || y != existingY);
+        boolean isResized = this.stage.getWidth() != existingWidth || this.stage.getHeight() != existingHeight;
+
+        if ( ! doMove && ! isResized ) {
+            return;
+        }
+
         if ( doMove ) {
             this.doInternalMove(x, y, ADJUSTMENT_MOVE);
         }
+
+        if ( this.state.get().isInMove ) {
+            this.showHide.retarget(false);
+        }
     }
 
     private void process(ProgrammaticMove move) {
         if ( this.isPinned.get() ) {
+            move.complete();
             return;
         }
 
         State state = this.state.get();
-        if ( state.isInMove ) {
-            this.queueAction(move);
-            return;
-        }
 
         boolean isRelativeMove = move.isRelative();
         double coordinate = move.coordinate;
@@ -1433,6 +1584,13 @@ public class SidepaneImpl<T> implements
         }
 
         this.doInternalMove(newX, newY, PROGRAMMATIC_INSTANT_MOVE);
+
+        if ( state.isInMove ) {
+            boolean isSideChanged = ! currentSide.is(this.side.get());
+            this.showHide.retarget(isSideChanged);
+        }
+
+        move.complete();
     }
 
     private double calculateRightShownX() {
@@ -1494,35 +1652,35 @@ public class SidepaneImpl<T> implements
     }
 
     private double calculateTopHiddenY() {
-        return 0 + this.hiddenArea.insetOf(TOP) - this.stage.getHeight();
+        return 0 + this.geometry.insetOf(TOP) - this.stage.getHeight();
     }
 
     private double calculateTopHiddenYOppositeOrientation() {
-        return 0 + this.hiddenArea.insetOf(TOP) - this.stage.getWidth();
+        return 0 + this.geometry.insetOf(TOP) - this.stage.getWidth();
     }
 
     private double calculateBottomHiddenY() {
-        return this.screen.height() + this.hiddenArea.insetOf(BOTTOM);
+        return this.screen.height() + this.geometry.insetOf(BOTTOM);
     }
 
     private double calculateBottomHiddenYOppositeOrientation() {
-        return this.screen.height() + this.hiddenArea.insetOf(BOTTOM);
+        return this.screen.height() + this.geometry.insetOf(BOTTOM);
     }
 
     private double calculateLeftHiddenX() {
-        return 0 + this.hiddenArea.insetOf(LEFT) - this.stage.getWidth();
+        return 0 + this.geometry.insetOf(LEFT) - this.stage.getWidth();
     }
 
     private double calculateLeftHiddenXOppositeOrientation() {
-        return 0 + this.hiddenArea.insetOf(LEFT) - this.stage.getHeight();
+        return 0 + this.geometry.insetOf(LEFT) - this.stage.getHeight();
     }
 
     private double calculateRightHiddenX() {
-        return this.screen.width() + this.hiddenArea.insetOf(RIGHT);
+        return this.screen.width() + this.geometry.insetOf(RIGHT);
     }
 
     private double calculateRightHiddenXOppositeOrientation() {
-        return this.screen.width() + this.hiddenArea.insetOf(RIGHT);
+        return this.screen.width() + this.geometry.insetOf(RIGHT);
     }
 
     @Override
@@ -1540,6 +1698,21 @@ public class SidepaneImpl<T> implements
         this.queueAction(new ContentChange<>(allItemsToChange));
     }
 
+    @Override
+    public CompletionStage<Void> changeAsync(Consumer<T> allItemsToChange) {
+        return this.queueAction(new ContentChange<>(allItemsToChange));
+    }
+
+    @Override
+    public void apply(List<? extends Content.Delta<T>> deltas) {
+        this.queueAction(new ContentChange<>(deltas));
+    }
+
+    @Override
+    public CompletionStage<Void> applyAsync(List<? extends Content.Delta<T>> deltas) {
+        return this.queueAction(new ContentChange<>(deltas));
+    }
+
     @Override
     public Watch watch() {
         return this.watch.watch;
@@ -1552,7 +1725,12 @@ public class SidepaneImpl<T> implements
 
     @Override
     public void touch() {
-        this.queueAction(SessionAction.TOUCH);
+        this.queueAction(new SessionAction(TOUCH));
+    }
+
+    @Override
+    public CompletionStage<Void> touchAsync() {
+        return this.queueAction(new SessionAction(TOUCH));
     }
 
     @Override
@@ -1582,7 +1760,37 @@ public class SidepaneImpl<T> implements
 
     @Override
     public void unblock() {
-        this.queueAction(SessionAction.UNBLOCK_ALL);
+        this.queueAction(new SessionAction(UNBLOCK_ALL));
+    }
+
+    @Override
+    public CompletionStage<Void> touchAndBlockAsync(String block) {
+        return this.queueAction(new NamedTypedSessionAction(TOUCH_AND_BLOCK, block));
+    }
+
+    @Override
+    public CompletionStage<Void> touchAndBlockAsync(String block, long millisForBlockToExist) {
+        return this.queueAction(new NamedTypedSessionAction(TOUCH_AND_BLOCK, block, millisForBlockToExist));
+    }
+
+    @Override
+    public CompletionStage<Void> blockAsync(String block) {
+        return this.queueAction(new NamedTypedSessionAction(BLOCK, block));
+    }
+
+    @Override
+    public CompletionStage<Void> blockAsync(String block, long millisForBlockToExist) {
+        return this.queueAction(new NamedTypedSessionAction(BLOCK, block, millisForBlockToExist));
+    }
+
+    @Override
+    public CompletionStage<Void> unblockAsync(String block) {
+        return this.queueAction(new NamedTypedSessionAction(UNBLOCK, block));
+    }
+
+    @Override
+    public CompletionStage<Void> unblockAsync() {
+        return this.queueAction(new SessionAction(UNBLOCK_ALL));
     }
 
     @Override
@@ -1595,6 +1803,11 @@ public class SidepaneImpl<T> implements
         return this.session.hasBlock(name);
     }
 
+    @Override
+    public Set<String> blocks() {
+        return this.session.blocks();
+    }
+
     @Override
     public void add(Touch.Listener touchListener) {
         this.session.add(touchListener);
@@ -9,32 +9,43 @@ import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyIntegerProperty;
 
 import diarsid.desktop.ui.components.sidepane.api.Sidepane;
-import diarsid.desktop.ui.components.sidepane.impl.areas.SidepaneAreaForTouch;
+import diarsid.desktop.ui.components.sidepane.impl.areas.SidepaneGeometry;
 import diarsid.desktop.ui.mouse.watching.Watch;
 import diarsid.support.concurrency.threads.NamedThreadSource;
 
+import static java.lang.Math.max;
 import static java.util.Objects.nonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class SidepaneMouseWatch {
 
     private final Runnable fencedManualTouch;
+    private final Runnable predictedTouch;
+    private final Runnable predictionCancel;
+    private final SidepaneTouchHysteresis hysteresis;
     private final ReadOnlyIntegerProperty delayMillis;
 
     private final Lock manualTouchRunning;
 
     private final ScheduledExecutorService async;
     private volatile ScheduledFuture<?> delayed;
+    private volatile PointerSample lastSample;
 
     final Watch watch;
 
     public SidepaneMouseWatch(
             String sidebarName,
-            SidepaneAreaForTouch touchArea,
+            SidepaneGeometry geometry,
             Runnable manualTouch,
+            Runnable predictedTouch,
+            Runnable predictionCancel,
             NamedThreadSource namedThreadSource,
-            ReadOnlyIntegerProperty delayMillis) {
+            ReadOnlyIntegerProperty delayMillis,
+            SidepaneTouchHysteresis hysteresis) {
         this.delayMillis = delayMillis;
+        this.hysteresis = hysteresis;
+        this.predictedTouch = predictedTouch;
+        this.predictionCancel = predictionCancel;
         this.async = namedThreadSource.newNamedScheduledExecutorService(
                 Sidepane.class.getSimpleName() + "." + sidebarName + ".delay",
                 1);
@@ -55,36 +66,59 @@ public class SidepaneMouseWatch {
         this.watch = new Watch(
                 Sidepane.class.getSimpleName() + "." + sidebarName,
                 (point) -> {
-                    return touchArea.contains(point.x, point.y);
+                    this.lastSample = new PointerSample(point.x, point.y);
+                    return geometry.touch().contains(point.x, point.y);
                 },
                 (point, isActive) -> {
-                    long currentDelayMillis = this.delayMillis.get();
-
-                    this.manualTouchRunning.lock();
-                    try {
-                        if ( nonNull(this.delayed) && ! this.delayed.isDone() ) {
-                            this.delayed.cancel(true);
-                            this.delayed = null;
-                        }
-                    }
-                    finally {
-                        this.manualTouchRunning.unlock();
-                    }
-
-                    if ( isActive ) {
-                        if ( currentDelayMillis > 0 ) {
-                            this.delayed = this.async.schedule(
-                                    this::asyncRunManualTouchSafely,
-                                    currentDelayMillis,
-                                    MILLISECONDS);
-                        }
-                        else {
-                            this.asyncRunManualTouchSafely();
-                        }
-                    }
+                    this.onPointerInTouchArea(isActive);
                 });
     }
 
+    /*
+     * Latest pointer sample of custom MouseWatcher this watch is added to, or null if there were no samples yet.
+     */
+    PointerSample lastSample() {
+        return this.lastSample;
+    }
+
+    void onPointerInTouchArea(boolean isActive) {
+        long currentDelayMillis = max(this.delayMillis.get(), this.hysteresis.millisBeforeTouch());
+
+        this.manualTouchRunning.lock();
+        try {
+            if ( nonNull(this.delayed) && ! this.delayed.isDone() ) {
+                this.delayed.cancel(true);
+                this.delayed = null;
+            }
+        }
+        finally {
+            this.manualTouchRunning.unlock();
+        }
+
+        if ( isActive ) {
+            if ( currentDelayMillis > 0 ) {
+                this.delayed = this.async.schedule(
+                        this::asyncRunManualTouchSafely,
+                        currentDelayMillis,
+                        MILLISECONDS);
+            }
+            else {
+                this.asyncRunManualTouchSafely();
+            }
+        }
+    }
+
+    void onPointerApproachingTouchArea(boolean isApproaching) {
+        if ( isApproaching ) {
+            if ( this.delayMillis.get() == 0 && this.hysteresis.millisBeforeTouch() == 0 ) {
+                Platform.runLater(this.predictedTouch);
+            }
+        }
+        else {
+            Platform.runLater(this.predictionCancel);
+        }
+    }
+
     private void asyncRunManualTouchSafely() {
         try {
             Platform.runLater(this.fencedManualTouch);
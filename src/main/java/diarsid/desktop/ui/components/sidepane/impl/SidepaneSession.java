@@ -1,275 +1,211 @@
 package diarsid.desktop.ui.components.sidepane.impl;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
+import java.util.function.LongSupplier;
 
 import javafx.application.Platform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import diarsid.desktop.ui.components.sidepane.api.Sidepane;
-import diarsid.support.concurrency.threads.NamedThreadSource;
-import diarsid.support.objects.references.Possible;
+import diarsid.desktop.ui.components.sidepane.api.Sidepane.Session.Touch;
 
-import static java.util.Collections.synchronizedList;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.Objects.nonNull;
 
+import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Session.Touch.Kind.PREDICTED;
 import static diarsid.desktop.ui.components.sidepane.api.Sidepane.Session.Touch.Kind.PROGRAMMATICAL;
-import static diarsid.support.concurrency.threads.ThreadsUtil.shutdownAndWait;
-import static diarsid.support.objects.collections.CollectionUtils.nonEmpty;
-import static diarsid.support.objects.references.References.simplePossibleButEmpty;
 
-public class SidepaneSession implements Sidepane.Session {
+/*
+ * Lock-free session. Session state is a single atomic word, touches of an active session only move the deadline
+ * of its pending deactivation. Deactivation is performed by the shared SessionTimerWheel and it is always done
+ * through DEACTIVATING state - touch that happens in this state returns session to ACTIVE state and makes
+ * deactivation to reschedule itself instead of finishing the session.
+ *
+ * Actions are applied synchronously. Sidepane.Session, including its Async methods that are completed only after
+ * the action has been applied, is implemented by SidepaneImpl that applies actions to this session.
+ */
+public class SidepaneSession {
 
     private static final Logger log = LoggerFactory.getLogger(SidepaneSession.class);
 
+    private static final int INACTIVE = 0;
+    private static final int ACTIVE = 1;
+    private static final int DEACTIVATING = 2;
+
     private final String name;
     private final int millisToFinishSession;
     private final Consumer<String> onActivation;
     private final Runnable onDeactivation;
-    private final Supplier<Boolean> canDeactivate;
-    private final ReadWriteLock lock;
-    private final Possible<Future<?>> deactivation;
-    private final List<String> blocks;
-    private final ScheduledExecutorService async;
-    private final ScheduledExecutorService asyncUnblock;
+    private final LongSupplier millisBeforeDeactivation;
+    private final AtomicInteger state;
+    private volatile SessionTimerWheel.Timeout deactivation;
+    private volatile boolean isActivatedByPrediction;
+    private final SessionBlocks blocks;
+    private final SessionTimerWheel timers;
     private final List<Touch.Listener> touchListeners;
 
     public SidepaneSession(
             String name,
             int millisToFinishSession,
-            NamedThreadSource namedThreadSource,
             Consumer<String> onActivation,
             Runnable onDeactivation,
-            Supplier<Boolean> canDeactivate) {
+            LongSupplier millisBeforeDeactivation) {
         this.name = name;
         this.millisToFinishSession = millisToFinishSession;
         this.onActivation = onActivation;
         this.onDeactivation = onDeactivation;
-        this.canDeactivate = canDeactivate;
-        this.lock = new ReentrantReadWriteLock();
-        this.deactivation = simplePossibleButEmpty();
-        this.blocks = new ArrayList<>();
-        this.async = namedThreadSource.newNamedScheduledExecutorService(
-                this.getClass().getSimpleName() + "[" + name + "]",
-                1);
-        this.asyncUnblock = namedThreadSource.newNamedScheduledExecutorService(
-                this.getClass().getSimpleName() + "[" + name + "].unblock",
-                1);
-        this.touchListeners = synchronizedList(new ArrayList<>());
+        this.millisBeforeDeactivation = millisBeforeDeactivation;
+        this.state = new AtomicInteger(INACTIVE);
+        this.deactivation = null;
+        this.isActivatedByPrediction = false;
+        this.timers = SessionTimerWheel.shared();
+        this.blocks = new SessionBlocks(this.timers, (expiredBlock) -> this.tryDeactivateIfUnblocked());
+        this.touchListeners = new CopyOnWriteArrayList<>();
     }
 
-    @Override
     public boolean isActive() {
-        this.lock.readLock().lock();
-        try {
-            return this.deactivation.isPresent();
-        }
-        finally {
-            this.lock.readLock().unlock();
-        }
+        return this.state.get() != INACTIVE;
     }
 
-    @Override
     public void touch() {
-        this.lock.writeLock().lock();
-        try {
-            if ( this.blocks.isEmpty() ) {
-                this.doTouch(PROGRAMMATICAL);
-            }
-        }
-        finally {
-            this.lock.writeLock().unlock();
+        if ( this.blocks.isEmpty() ) {
+            this.doTouch(PROGRAMMATICAL);
         }
     }
 
     public void touch(String touchKind) {
-        this.lock.writeLock().lock();
-        try {
-            if ( this.blocks.isEmpty() ) {
-                this.doTouch(touchKind);
-            }
-        }
-        finally {
-            this.lock.writeLock().unlock();
+        if ( this.blocks.isEmpty() ) {
+            this.doTouch(touchKind);
         }
     }
 
-    @Override
     public void touchAndBlock(String block) {
-        this.lock.writeLock().lock();
-        try {
-            if ( blocks.isEmpty() ) {
-                this.doTouch(PROGRAMMATICAL);
-                this.block(block);
-            }
-        }
-        finally {
-            this.lock.writeLock().unlock();
+        if ( this.blocks.isEmpty() ) {
+            this.doTouch(PROGRAMMATICAL);
+            this.block(block);
         }
     }
 
-    @Override
     public void touchAndBlock(String block, long millisForBlockToExist) {
-        this.lock.writeLock().lock();
-        try {
-            if ( this.blocks.isEmpty() ) {
-                this.doTouch(PROGRAMMATICAL);
-                this.block(block);
-                this.asyncUnblock.schedule(
-                        () -> {
-                            this.unblock(block);
-                        },
-                        millisForBlockToExist, MILLISECONDS);
-            }
-        }
-        finally {
-            this.lock.writeLock().unlock();
+        if ( this.blocks.isEmpty() ) {
+            this.doTouch(PROGRAMMATICAL);
+            this.block(block, millisForBlockToExist);
         }
     }
 
     public void touchAndBlock(String touchKind, String block) {
-        this.lock.writeLock().lock();
-        try {
-            if ( this.blocks.isEmpty() ) {
-                this.doTouch(touchKind);
-                this.block(block);
-            }
-        }
-        finally {
-            this.lock.writeLock().unlock();
+        if ( this.blocks.isEmpty() ) {
+            this.doTouch(touchKind);
+            this.block(block);
         }
     }
 
     public void touchAndBlock(String touchKind, String block, long millisForBlockToExist) {
-        this.lock.writeLock().lock();
-        try {
-            if ( this.blocks.isEmpty() ) {
-                this.doTouch(touchKind);
-                this.block(block);
-                this.asyncUnblock.schedule(
-                        () -> {
-                            unblock(block);
-                        },
-                        millisForBlockToExist, MILLISECONDS);
-            }
-        }
-        finally {
-            this.lock.writeLock().unlock();
+        if ( this.blocks.isEmpty() ) {
+            this.doTouch(touchKind);
+            this.block(block, millisForBlockToExist);
         }
     }
 
     private void doTouch(String touchKind) {
-        if ( this.deactivation.isPresent() ) {
-            this.prolongActivity();
+        boolean isPredicted = touchKind.equals(PREDICTED);
+        if ( ! isPredicted ) {
+            this.isActivatedByPrediction = false;
         }
-        else {
-            this.activate(touchKind);
+
+        int state;
+        while ( true ) {
+            state = this.state.get();
+            switch ( state ) {
+                case INACTIVE:
+                    if ( this.state.compareAndSet(INACTIVE, ACTIVE) ) {
+                        this.isActivatedByPrediction = isPredicted;
+                        this.activate(touchKind);
+                        return;
+                    }
+                    break;
+                case ACTIVE:
+                    /*
+                     * if pending deactivation has already expired, its deactivation is in progress and
+                     * it will see the moved deadline after it switches session to DEACTIVATING state
+                     */
+                    this.prolongActivity();
+                    return;
+                case DEACTIVATING:
+                    if ( this.state.compareAndSet(DEACTIVATING, ACTIVE) ) {
+                        return;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException();
+            }
         }
     }
 
-    @Override
-    public void block(String block) {
-        this.lock.writeLock().lock();
-        try {
-            this.deactivation.ifPresent(asyncJob -> asyncJob.cancel(true));
-            this.blocks.add(block);
-        }
-        finally {
-            this.lock.writeLock().unlock();
+    /*
+     * Finishes session that has been activated by predicted touch and has not been touched in other way since then.
+     * Deactivation is only moved to now, thus session still will not be finished if pointer is inside of sidepane.
+     */
+    public void cancelPredicted() {
+        if ( this.isActivatedByPrediction && this.state.get() == ACTIVE && this.blocks.isEmpty() ) {
+            this.isActivatedByPrediction = false;
+            this.cancelDeactivation();
+            this.scheduleDeactivation(0);
         }
     }
 
-    @Override
+    public void block(String block) {
+        this.blocks.add(block);
+        this.cancelDeactivation();
+    }
+
     public void block(String block, long millisForBlockToExist) {
-        this.lock.writeLock().lock();
-        try {
-            this.deactivation.ifPresent(asyncJob -> asyncJob.cancel(true));
-            this.blocks.add(block);
-            this.asyncUnblock.schedule(
-                    () -> {
-                        this.unblock(block);
-                    },
-                    millisForBlockToExist, MILLISECONDS);
-        }
-        finally {
-            this.lock.writeLock().unlock();
-        }
+        this.blocks.add(block, millisForBlockToExist);
+        this.cancelDeactivation();
     }
 
-    @Override
     public void unblock(String block) {
-        lock.writeLock().lock();
-        try {
-            boolean removed = blocks.remove(block);
-            if ( blocks.isEmpty() && this.isActive() ) {
-                tryDeactivate();
-            }
-        }
-        finally {
-            lock.writeLock().unlock();
+        this.blocks.remove(block);
+        this.tryDeactivateIfUnblocked();
+    }
+
+    private void tryDeactivateIfUnblocked() {
+        if ( this.blocks.isEmpty() && this.isActive() ) {
+            this.tryDeactivate();
         }
     }
 
-    @Override
     public void unblock() {
-        lock.writeLock().lock();
-        try {
-            blocks.clear();
-            tryDeactivate();
-        }
-        finally {
-            lock.writeLock().unlock();
-        }
+        blocks.clear();
+        tryDeactivate();
     }
 
-    @Override
     public boolean isBlocked() {
-        lock.writeLock().lock();
-        try {
-            return nonEmpty(blocks);
-        }
-        finally {
-            lock.writeLock().unlock();
-        }
+        return blocks.isNotEmpty();
     }
 
-    @Override
     public boolean hasBlock(String name) {
-        lock.writeLock().lock();
-        try {
-            return blocks.contains(name);
-        }
-        finally {
-            lock.writeLock().unlock();
-        }
+        return blocks.contains(name);
+    }
+
+    public Set<String> blocks() {
+        return blocks.names();
     }
 
-    @Override
     public void add(Touch.Listener touchListener) {
         this.touchListeners.add(touchListener);
     }
 
-    @Override
     public boolean remove(Touch.Listener touchListener) {
         return this.touchListeners.remove(touchListener);
     }
 
     public void dispose() {
-        lock.writeLock().lock();
-        try {
-            deactivation.ifPresent(future -> future.cancel(true));
-            shutdownAndWait(async);
-        }
-        finally {
-            lock.writeLock().unlock();
-        }
+        this.cancelDeactivation();
+        this.state.set(INACTIVE);
     }
 
     private void activate(String touchKind) {
@@ -284,36 +220,63 @@ public class SidepaneSession implements Sidepane.Session {
                 }
             }
         });
-        deactivation.ifPresent(asyncJob -> asyncJob.cancel(true));
-        deactivation.resetTo(async.schedule(this::tryDeactivate, this.millisToFinishSession, MILLISECONDS));
+        this.cancelDeactivation();
+        this.scheduleDeactivation(this.millisToFinishSession);
     }
 
     private void prolongActivity() {
-        deactivation.ifPresent(asyncJob -> asyncJob.cancel(true));
-        deactivation.resetTo(async.schedule(this::tryDeactivate, this.millisToFinishSession, MILLISECONDS));
+        SessionTimerWheel.Timeout pendingDeactivation = this.deactivation;
+        if ( nonNull(pendingDeactivation) ) {
+            pendingDeactivation.prolong(this.millisToFinishSession);
+        }
+    }
+
+    private void scheduleDeactivation(long millis) {
+        this.deactivation = this.timers.schedule(this::tryDeactivate, millis);
+    }
+
+    private void cancelDeactivation() {
+        SessionTimerWheel.Timeout pendingDeactivation = this.deactivation;
+        if ( nonNull(pendingDeactivation) ) {
+            pendingDeactivation.cancel();
+        }
     }
 
     private void tryDeactivate() {
-        lock.writeLock().lock();
-        try {
-            if ( blocks.isEmpty() ) {
-                boolean canDeactivate = this.canDeactivate.get();
-                if ( canDeactivate ) {
-                    Platform.runLater(this.onDeactivation);
-                    deactivation.nullify();
-                }
-                else {
-                    deactivation.ifPresent(asyncJob -> asyncJob.cancel(true));
-                    deactivation.resetTo(async.schedule(this::tryDeactivate, this.millisToFinishSession, MILLISECONDS));
-                }
-            }
-            else {
-                deactivation.ifPresent(asyncJob -> asyncJob.cancel(true));
-                deactivation.resetTo(async.schedule(this::tryDeactivate, this.millisToFinishSession, MILLISECONDS));
-            }
+        SessionTimerWheel.Timeout currentDeactivation = this.deactivation;
+        if ( nonNull(currentDeactivation) && currentDeactivation.isPending() ) {
+            return;
+        }
+
+        if ( ! this.state.compareAndSet(ACTIVE, DEACTIVATING) ) {
+            return;
+        }
+
+        long millisRemaining = nonNull(currentDeactivation) ? currentDeactivation.remainingMillis() : 0;
+
+        if ( millisRemaining > 0 ) {
+            this.scheduleDeactivation(millisRemaining);
+            this.state.set(ACTIVE);
+            return;
         }
-        finally {
-            lock.writeLock().unlock();
+
+        if ( this.blocks.isNotEmpty() ) {
+            this.scheduleDeactivation(this.millisToFinishSession);
+            this.state.set(ACTIVE);
+            return;
+        }
+
+        long millisBeforeDeactivation = this.millisBeforeDeactivation.getAsLong();
+
+        if ( millisBeforeDeactivation > 0 ) {
+            this.scheduleDeactivation(millisBeforeDeactivation);
+            this.state.set(ACTIVE);
+        }
+        else if ( this.state.compareAndSet(DEACTIVATING, INACTIVE) ) {
+            Platform.runLater(this.onDeactivation);
+        }
+        else {
+            this.scheduleDeactivation(this.millisToFinishSession);
         }
     }
 }
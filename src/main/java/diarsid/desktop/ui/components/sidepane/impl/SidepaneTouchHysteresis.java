@@ -0,0 +1,74 @@
+package diarsid.desktop.ui.components.sidepane.impl;
+
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/*
+ * Filters pointer input of a sidepane before it touches the session, so that pointer brushing along a screen edge
+ * does not hide and show the sidepane over and over.
+ *
+ * Entry dwell - pointer has to stay in the touch area for this time before the session is touched.
+ * Exit grace - session is not finished until pointer has been outside of the sidepane for this time, measured
+ * from the moment pointer has left the sidepane.
+ * Cooldown after hide - pointer entering the touch area right after the sidepane has been hidden touches
+ * the session only when this time has passed since hide.
+ */
+class SidepaneTouchHysteresis {
+
+    private final long entryDwellMillis;
+    private final long exitGraceNanos;
+    private final long cooldownAfterHideNanos;
+    private volatile long hiddenAtNanos;
+    private volatile boolean isPointerInside;
+    private volatile long pointerLeftAtNanos;
+
+    SidepaneTouchHysteresis(long entryDwellMillis, long exitGraceMillis, long cooldownAfterHideMillis) {
+        if ( entryDwellMillis < 0 || exitGraceMillis < 0 || cooldownAfterHideMillis < 0 ) {
+            throw new IllegalArgumentException("Hysteresis millis must not be negative!");
+        }
+
+        this.entryDwellMillis = entryDwellMillis;
+        this.exitGraceNanos = MILLISECONDS.toNanos(exitGraceMillis);
+        this.cooldownAfterHideNanos = MILLISECONDS.toNanos(cooldownAfterHideMillis);
+        long now = System.nanoTime();
+        this.hiddenAtNanos = now - this.cooldownAfterHideNanos;
+        this.isPointerInside = false;
+        this.pointerLeftAtNanos = now - this.exitGraceNanos;
+    }
+
+    void hidden() {
+        this.hiddenAtNanos = System.nanoTime();
+    }
+
+    long millisBeforeTouch() {
+        long cooldownRemainingNanos = this.cooldownAfterHideNanos - (System.nanoTime() - this.hiddenAtNanos);
+        return max(this.entryDwellMillis, NANOSECONDS.toMillis(max(cooldownRemainingNanos, 0)));
+    }
+
+    void pointerEntered() {
+        this.isPointerInside = true;
+    }
+
+    void pointerLeft() {
+        this.isPointerInside = false;
+        this.pointerLeftAtNanos = System.nanoTime();
+    }
+
+    /*
+     * Is invoked when pointer is known to be outside of the sidepane. Returns millis of exit grace that
+     * remain since pointer has left the sidepane, 0 if session can be finished now. Records leave time if
+     * pointer leave has not been noticed before.
+     */
+    long millisBeforeSessionFinish() {
+        if ( this.isPointerInside ) {
+            this.pointerLeft();
+        }
+
+        long graceRemainingNanos = this.exitGraceNanos - (System.nanoTime() - this.pointerLeftAtNanos);
+        if ( graceRemainingNanos <= 0 ) {
+            return 0;
+        }
+        return max(1, NANOSECONDS.toMillis(graceRemainingNanos));
+    }
+}
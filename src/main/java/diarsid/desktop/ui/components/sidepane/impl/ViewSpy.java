@@ -1,6 +1,7 @@
 package diarsid.desktop.ui.components.sidepane.impl;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -41,6 +42,12 @@ class ViewSpy<T> implements Sidepane.Content.View<T>, Sidepane.Content.Storable
         this.onChange.run();
     }
 
+    @Override
+    public void adoptGivenDeltas(List<? extends Sidepane.Content.Delta<T>> deltas) {
+        this.view.adoptGivenDeltas(deltas);
+        this.onChange.run();
+    }
+
     @Override
     public void pseudoClassStateChanged(PseudoClass pseudoClass, boolean active) {
         this.view.pseudoClassStateChanged(pseudoClass, active);
@@ -0,0 +1,237 @@
+package diarsid.desktop.ui.components.sidepane.impl.areas;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ObjectProperty;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import diarsid.desktop.ui.geometry.Anchor;
+import diarsid.desktop.ui.geometry.Rectangle;
+import diarsid.desktop.ui.geometry.Size;
+import diarsid.support.javafx.geometry.Screen;
+
+import static java.util.Objects.nonNull;
+
+import static diarsid.desktop.ui.geometry.Rectangle.Side.BOTTOM;
+import static diarsid.desktop.ui.geometry.Rectangle.Side.LEFT;
+import static diarsid.desktop.ui.geometry.Rectangle.Side.RIGHT;
+import static diarsid.desktop.ui.geometry.Rectangle.Side.TOP;
+
+/*
+ * Geometry of sidepane - area occupied by the stage when it is hidden, area occupied by it when it is shown and
+ * area on the screen edge that touches sidepane. All of them are computed together from one snapshot of stage
+ * bounds and side.
+ *
+ * Changes of stage x, y, width, height and side only invalidate geometry. It is recomputed before layout of the
+ * next pulse, or earlier if it is read on JavaFX thread while invalid, so any number of changes within one pulse
+ * cause at most one recomputation.
+ *
+ * Areas are immutable and are replaced only when their bounds actually change, so touch area can be read from
+ * any thread.
+ */
+public class SidepaneGeometry {
+
+    public static final class Bounds implements Rectangle, Anchor, Size {
+
+        private final double x;
+        private final double y;
+        private final double width;
+        private final double height;
+
+        private Bounds(double x, double y, double width, double height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        private Bounds changedTo(double x, double y, double width, double height) {
+            if ( this.x == x && this.y == y && this.width == width && this.height == height ) {
+                return this;
+            }
+            else {
+                return new Bounds(x, y, width, height);
+            }
+        }
+
+        @Override
+        public Anchor anchor() {
+            return this;
+        }
+
+        @Override
+        public Size size() {
+            return this;
+        }
+
+        @Override
+        public double x() {
+            return this.x;
+        }
+
+        @Override
+        public double y() {
+            return this.y;
+        }
+
+        @Override
+        public double width() {
+            return this.width;
+        }
+
+        @Override
+        public double height() {
+            return this.height;
+        }
+    }
+
+    private final Screen screen;
+    private final Stage stage;
+    private final Scene scene;
+    private final ObjectProperty<Rectangle.Side> side;
+    private final Insets insets;
+    private final InvalidationListener invalidation;
+    private final Runnable validationOnPulse;
+
+    private volatile Bounds hidden;
+    private volatile Bounds shown;
+    private volatile Bounds touch;
+    private boolean isValid;
+    private Runnable onTouchAreaChange;
+
+    public SidepaneGeometry(Screen screen, Stage stage, Scene scene, ObjectProperty<Rectangle.Side> side) {
+        this.screen = screen;
+        this.stage = stage;
+        this.scene = scene;
+        this.side = side;
+        this.insets = new Insets(-1, +1, +1, -1);
+
+        this.hidden = new Bounds(0, 0, 0, 0);
+        this.shown = this.hidden;
+        this.touch = this.hidden;
+        this.isValid = false;
+        this.onTouchAreaChange = null;
+
+        this.validate();
+
+        this.invalidation = (property) -> {
+            this.invalidate();
+        };
+        this.validationOnPulse = this::validate;
+
+        this.stage.xProperty().addListener(this.invalidation);
+        this.stage.yProperty().addListener(this.invalidation);
+        this.stage.widthProperty().addListener(this.invalidation);
+        this.stage.heightProperty().addListener(this.invalidation);
+        this.side.addListener(this.invalidation);
+
+        this.scene.addPreLayoutPulseListener(this.validationOnPulse);
+    }
+
+    public double insetOf(Rectangle.Side side) {
+        switch ( side ) {
+            case TOP: return this.insets.getTop();
+            case LEFT: return this.insets.getLeft();
+            case RIGHT: return this.insets.getRight();
+            case BOTTOM: return this.insets.getBottom();
+            default:
+                throw side.unsupported();
+        }
+    }
+
+    /*
+     * Must be read on JavaFX thread.
+     */
+    public Bounds hidden() {
+        this.validate();
+        return this.hidden;
+    }
+
+    /*
+     * Must be read on JavaFX thread.
+     */
+    public Bounds shown() {
+        this.validate();
+        return this.shown;
+    }
+
+    /*
+     * Can be read from any thread. Is the touch area as of the last recomputation.
+     */
+    public Bounds touch() {
+        return this.touch;
+    }
+
+    /*
+     * Given callback is invoked on JavaFX thread each time touch area bounds are changed.
+     */
+    public void onTouchAreaChange(Runnable onTouchAreaChange) {
+        this.onTouchAreaChange = onTouchAreaChange;
+    }
+
+    public void dispose() {
+        this.stage.xProperty().removeListener(this.invalidation);
+        this.stage.yProperty().removeListener(this.invalidation);
+        this.stage.widthProperty().removeListener(this.invalidation);
+        this.stage.heightProperty().removeListener(this.invalidation);
+        this.side.removeListener(this.invalidation);
+
+        this.scene.removePreLayoutPulseListener(this.validationOnPulse);
+    }
+
+    private void invalidate() {
+        if ( this.isValid ) {
+            this.isValid = false;
+            Platform.requestNextPulse();
+        }
+    }
+
+    private void validate() {
+        if ( this.isValid ) {
+            return;
+        }
+        this.isValid = true;
+
+        Rectangle.Side side = this.side.get();
+        double x = this.stage.getX();
+        double y = this.stage.getY();
+        double width = this.stage.getWidth();
+        double height = this.stage.getHeight();
+        double screenWidth = this.screen.width();
+        double screenHeight = this.screen.height();
+
+        Bounds oldTouch = this.touch;
+
+        switch ( side ) {
+            case TOP:
+                this.hidden = this.hidden.changedTo(x, 0 - height + this.insetOf(TOP), width, height);
+                this.shown = this.shown.changedTo(x, 0, width, height);
+                this.touch = oldTouch.changedTo(x, 0, width, 1);
+                break;
+            case LEFT:
+                this.hidden = this.hidden.changedTo(0 - width + this.insetOf(LEFT), y, width, height);
+                this.shown = this.shown.changedTo(0, y, width, height);
+                this.touch = oldTouch.changedTo(0, y, 1, height);
+                break;
+            case RIGHT:
+                this.hidden = this.hidden.changedTo(screenWidth + this.insetOf(RIGHT), y, width, height);
+                this.shown = this.shown.changedTo(screenWidth - width, y, width, height);
+                this.touch = oldTouch.changedTo(screenWidth - 1, y, 1, height);
+                break;
+            case BOTTOM:
+                this.hidden = this.hidden.changedTo(x, screenHeight + this.insetOf(BOTTOM), width, height);
+                this.shown = this.shown.changedTo(x, screenHeight - height, width, height);
+                this.touch = oldTouch.changedTo(x, screenHeight - 1, width, 1);
+                break;
+            default:
+                throw side.unsupported();
+        }
+
+        Runnable onTouchAreaChange = this.onTouchAreaChange;
+        if ( this.touch != oldTouch && nonNull(onTouchAreaChange) ) {
+            onTouchAreaChange.run();
+        }
+    }
+}